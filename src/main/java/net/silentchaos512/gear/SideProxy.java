@@ -8,9 +8,11 @@ import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.CreativeModeTab;
 import net.minecraft.world.level.Level;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.capabilities.RegisterCapabilitiesEvent;
 import net.minecraftforge.event.AddReloadListenerEvent;
+import net.minecraftforge.event.TagsUpdatedEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.event.server.ServerStartedEvent;
 import net.minecraftforge.event.server.ServerStoppingEvent;
@@ -36,8 +38,12 @@ import net.silentchaos512.gear.gear.part.PartManager;
 import net.silentchaos512.gear.gear.trait.TraitManager;
 import net.silentchaos512.gear.item.CraftingItems;
 import net.silentchaos512.gear.network.Network;
+import net.silentchaos512.gear.network.RecalculateStatsPacket;
+import net.silentchaos512.gear.network.SyncDataDeltaPacket;
 import net.silentchaos512.gear.setup.*;
 import net.silentchaos512.gear.util.Const;
+import net.silentchaos512.gear.util.PackedIdTable;
+import net.silentchaos512.gear.util.PackedStatTable;
 import net.silentchaos512.gear.world.SgWorldFeatures;
 import net.silentchaos512.lib.event.Greetings;
 import net.silentchaos512.lib.event.InitialSpawnItems;
@@ -80,13 +86,16 @@ class SideProxy implements IProxy {
         modEventBus.addListener(SideProxy::registerCapabilities);
         modEventBus.addListener(SideProxy::imcEnqueue);
         modEventBus.addListener(SideProxy::imcProcess);
+        modEventBus.addListener(NerfedGear::onConfigReloading);
 
 //        modEventBus.addGenericListener(ItemStat.class, ItemStats::registerStats);
 
         MinecraftForge.EVENT_BUS.addListener(SgCommands::registerAll);
         MinecraftForge.EVENT_BUS.addListener(SideProxy::onAddReloadListeners);
+        MinecraftForge.EVENT_BUS.addListener(SideProxy::onTagsUpdated);
         MinecraftForge.EVENT_BUS.addListener(SideProxy::serverStarted);
         MinecraftForge.EVENT_BUS.addListener(SideProxy::serverStopping);
+        MinecraftForge.EVENT_BUS.addListener(RecalculateStatsPacket::onPlayerTick);
     }
 
     private static void commonSetup(FMLCommonSetupEvent event) {
@@ -137,6 +146,12 @@ class SideProxy implements IProxy {
         }
     }
 
+    private static void onTagsUpdated(TagsUpdatedEvent event) {
+        // Ingredient items may have changed, so item lookups need to be rebuilt
+        MaterialManager.invalidateItemIndex();
+        PartManager.invalidateItemIndex();
+    }
+
     private static void serverStarted(ServerStartedEvent event) {
         server = event.getServer();
         SilentGear.LOGGER.info(TraitManager.MARKER, "Traits loaded: {}", TraitManager.getValues().size());
@@ -152,6 +167,7 @@ class SideProxy implements IProxy {
 
     private static void serverStopping(ServerStoppingEvent event) {
         server = null;
+        SyncDataDeltaPacket.clearSyncedState();
     }
 
     @Nullable
@@ -192,6 +208,8 @@ class SideProxy implements IProxy {
             MinecraftForge.EVENT_BUS.register(new GearHudOverlay());
             MinecraftForge.EVENT_BUS.register(TooltipHandler.INSTANCE);
             MinecraftForge.EVENT_BUS.addListener(this::onPlayerLoggedIn);
+            MinecraftForge.EVENT_BUS.addListener(Client::onLoggingOut);
+            MinecraftForge.EVENT_BUS.addListener(RecalculateStatsPacket::onClientTick);
 
             if (SilentGear.isDevBuild()) {
                 MinecraftForge.EVENT_BUS.register(new DebugOverlay());
@@ -240,6 +258,14 @@ class SideProxy implements IProxy {
             */
         }
 
+        private static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+            // Go back to the local stat and ID tables, in case the next server is the integrated one
+            PackedStatTable.setServerTable(null);
+            PackedIdTable.TRAITS.setServerTable(null);
+            PackedIdTable.PARTS.setServerTable(null);
+            PackedIdTable.MATERIALS.setServerTable(null);
+        }
+
         @Nullable
         @Override
         public Player getClientPlayer() {
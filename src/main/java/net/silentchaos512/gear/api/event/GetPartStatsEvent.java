@@ -0,0 +1,54 @@
+package net.silentchaos512.gear.api.event;
+
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.eventbus.api.Event;
+import net.silentchaos512.gear.api.stats.ItemStat;
+import net.silentchaos512.gear.api.stats.StatInstance;
+import net.silentchaos512.gear.gear.part.PartData;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fired once per part when calculating the stats of a gear item, with the modifiers the part
+ * provides for every stat. This allows modifiers to be added or removed. Prefer this over
+ * {@link GetStatModifierEvent}, which is fired for every stat separately.
+ *
+ * @author SilentChaos512
+ * @since 3.5.2
+ */
+public class GetPartStatsEvent extends Event {
+    private final PartData part;
+    private final ItemStack gear;
+    private final Map<ItemStat, List<StatInstance>> modifiers;
+
+    public GetPartStatsEvent(PartData part, ItemStack gear, Map<ItemStat, List<StatInstance>> modifiers) {
+        this.part = part;
+        this.gear = gear;
+        //noinspection AssignmentOrReturnOfFieldWithMutableType
+        this.modifiers = modifiers;
+    }
+
+    @Override
+    public boolean isCancelable() {
+        return false;
+    }
+
+    public PartData getPart() {
+        return part;
+    }
+
+    public ItemStack getGear() {
+        return gear;
+    }
+
+    /**
+     * Gets the modifiers for all stats. Both the map and the lists can be modified.
+     *
+     * @return Map of stats to modifiers
+     */
+    @SuppressWarnings("AssignmentOrReturnOfFieldWithMutableType")
+    public Map<ItemStat, List<StatInstance>> getModifiers() {
+        return modifiers;
+    }
+}
@@ -14,6 +14,8 @@ import net.silentchaos512.gear.util.GearHelper;
 
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
@@ -29,6 +31,9 @@ public final class GearType {
     private static final Pattern VALID_NAME = Pattern.compile("[^a-z_]");
     private static final Map<String, GearType> VALUES = new HashMap<>();
     private static final Map<GearType, ICoreItem> ITEMS = new HashMap<>();
+    private static final AtomicInteger NEXT_ORDINAL = new AtomicInteger();
+    // Type strings passed to matches(String), resolved to gear types. Cleared when a type is created.
+    private static final Map<String, Optional<GearType>> MATCH_LOOKUP = new ConcurrentHashMap<>();
 
     // A non-existent gear type which matches nothing
     public static final GearType NONE = getOrCreate("none");
@@ -132,6 +137,16 @@ public final class GearType {
         return VALUES.getOrDefault(name, NONE);
     }
 
+    /**
+     * Gets the number of gear types which have been created. Every type's ordinal is less than
+     * this.
+     *
+     * @return The number of gear types
+     */
+    public static int getTypeCount() {
+        return NEXT_ORDINAL.get();
+    }
+
     /**
      * Gets or creates a new gear type without a parent. This should NOT be used in most cases. If
      * the gear type already exists, the existing instance is not modified in any way.
@@ -155,11 +170,26 @@ public final class GearType {
         if (VALID_NAME.matcher(name).find()) {
             throw new IllegalArgumentException("Invalid name: " + name);
         }
-        return VALUES.computeIfAbsent(name, s -> {
-            Builder builder = Builder.of(name, parent);
-            propertiesBuilder.accept(builder);
-            return builder.build();
-        });
+        GearType existing = VALUES.get(name);
+        if (existing != null) {
+            return existing;
+        }
+
+        Builder builder = Builder.of(name, parent);
+        propertiesBuilder.accept(builder);
+        GearType type = builder.build();
+        VALUES.put(name, type);
+        // Clear after the type is stored, so a lookup in between cannot cache it as missing again
+        MATCH_LOOKUP.clear();
+        return type;
+    }
+
+    @Nullable
+    private static GearType resolveForMatching(String type) {
+        return MATCH_LOOKUP.computeIfAbsent(type, s -> {
+            String name = s.contains("/") ? s.split("/")[1] : s;
+            return Optional.ofNullable(VALUES.get(name));
+        }).orElse(null);
     }
 
     public static GearType fromJson(JsonObject json, String key) {
@@ -174,6 +204,9 @@ public final class GearType {
     private final String name;
     @Nullable
     private final GearType parent;
+    private final int ordinal;
+    // Ordinals of this type and all of its parents
+    private final BitSet ancestors;
     private final int animationFrames;
     private final Supplier<ItemStat> durabilityStat;
     private final float armorDurabilityMultiplier;
@@ -182,6 +215,9 @@ public final class GearType {
     private GearType(String name, @Nullable GearType parent, int animationFrames, Supplier<ItemStat> durabilityStat, float armorDurabilityMultiplier, Set<ToolAction> toolActions) {
         this.name = name;
         this.parent = parent;
+        this.ordinal = NEXT_ORDINAL.getAndIncrement();
+        this.ancestors = parent != null ? (BitSet) parent.ancestors.clone() : new BitSet();
+        this.ancestors.set(this.ordinal);
         this.animationFrames = animationFrames;
         this.durabilityStat = durabilityStat;
         this.armorDurabilityMultiplier = armorDurabilityMultiplier;
@@ -202,6 +238,16 @@ public final class GearType {
         return parent;
     }
 
+    /**
+     * Gets a unique index for the gear type, assigned in creation order. This is stable for a
+     * session, but not between game versions, so it must not be saved.
+     *
+     * @return The gear type's ordinal
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
     public int getAnimationFrames() {
         return animationFrames;
     }
@@ -230,7 +276,7 @@ public final class GearType {
     }
 
     public boolean matches(GearType type) {
-        return matches(type.name, true);
+        return matches(type, true);
     }
 
     /**
@@ -243,14 +289,12 @@ public final class GearType {
      * @return True if this type's name is equal to type, or if its parent matches (recursive)
      */
     public boolean matches(String type, boolean includeAll) { //FIXME: The way includesAll is handled does not make sense anymore
-        if (type.contains("/")) {
-            return matches(type.split("/")[1], includeAll);
-        }
-        return (includeAll && "all".equals(type)) || name.equals(type) || (parent != null && parent.matches(type, includeAll));
+        GearType gearType = resolveForMatching(type);
+        return gearType != null && matches(gearType, includeAll);
     }
 
     public boolean matches(GearType type, boolean includeAll) {
-        return matches(type.name, includeAll);
+        return (includeAll && type == ALL) || ancestors.get(type.ordinal);
     }
 
     public boolean isGear() {
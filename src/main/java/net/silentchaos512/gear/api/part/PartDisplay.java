@@ -8,12 +8,15 @@ import net.silentchaos512.gear.api.material.IMaterialLayerList;
 import net.silentchaos512.gear.api.material.MaterialLayerList;
 import net.silentchaos512.gear.api.util.PartGearKey;
 
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class PartDisplay implements IPartDisplay {
     protected final Map<PartGearKey, MaterialLayerList> map = new LinkedHashMap<>();
     private PartType partType = PartType.NONE;
+    // Layer lists with gear type fallbacks already resolved, indexed by gear type ordinal
+    private volatile MaterialLayerList[] resolved = new MaterialLayerList[0];
 
     public static PartDisplay of(Map<PartGearKey, MaterialLayerList> display) {
         PartDisplay model = new PartDisplay();
@@ -26,7 +29,19 @@ public class PartDisplay implements IPartDisplay {
 
     @Override
     public IMaterialLayerList getLayers(GearType gearType, IPartData part) {
-        return map.getOrDefault(getMostSpecificKey(gearType), MaterialLayerList.DEFAULT);
+        int index = gearType.getOrdinal();
+        MaterialLayerList[] table = this.resolved;
+        if (index >= table.length) {
+            table = Arrays.copyOf(table, GearType.getTypeCount());
+            this.resolved = table;
+        }
+
+        MaterialLayerList layerList = table[index];
+        if (layerList == null) {
+            layerList = map.getOrDefault(getMostSpecificKey(gearType), MaterialLayerList.DEFAULT);
+            table[index] = layerList;
+        }
+        return layerList;
     }
 
     private PartGearKey getMostSpecificKey(GearType gearType) {
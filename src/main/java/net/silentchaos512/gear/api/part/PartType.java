@@ -50,6 +50,7 @@ import java.util.function.Supplier;
 public final class PartType {
     private static final Map<ResourceLocation, PartType> VALUES = new LinkedHashMap<>();
     private static final Map<PartGearKey, Optional<CompoundPartItem>> ITEM_CACHE = new HashMap<>();
+    private static int typeCount = 0;
 
     public static final PartType NONE = create(Builder.builder(SilentGear.getId("none")));
 
@@ -139,6 +140,16 @@ public final class PartType {
         return VALUES.values();
     }
 
+    /**
+     * Gets the number of part types which have been created. Every type's ordinal is less than
+     * this.
+     *
+     * @return The number of part types
+     */
+    public static int getTypeCount() {
+        return typeCount;
+    }
+
     public static PartType fromJson(JsonObject json, String key) {
         String str = GsonHelper.getAsString(json, key);
         PartType type = get(new ModResourceLocation(str));
@@ -149,6 +160,7 @@ public final class PartType {
     }
 
     private final ResourceLocation name;
+    private final int ordinal;
     private final boolean isRemovable;
     private final boolean isUpgrade;
     private final Function<GearType, Integer> maxPerItem;
@@ -158,6 +170,7 @@ public final class PartType {
 
     private PartType(Builder builder) {
         this.name = builder.name;
+        this.ordinal = typeCount++;
         this.isRemovable = builder.isRemovable;
         this.isUpgrade = builder.isUpgrade;
         this.maxPerItem = builder.maxPerItem;
@@ -178,6 +191,16 @@ public final class PartType {
         return SilentGear.shortenId(name);
     }
 
+    /**
+     * Gets a unique index for the part type, assigned in creation order. This is stable for a
+     * session, but not between game versions, so it must not be saved.
+     *
+     * @return The part type's ordinal
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
     public boolean isRemovable() {
         return isRemovable;
     }
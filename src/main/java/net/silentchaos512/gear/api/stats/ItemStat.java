@@ -33,6 +33,7 @@ public class ItemStat implements IItemStat {
     private final boolean displayAsInt;
     private final DisplayFormat displayFormat;
     private final Function<Float, Float> missingRodFunction;
+    private final int ordinal;
 
     public ItemStat(ResourceLocation name, float defaultValue, float minValue, float maxValue, ChatFormatting nameColor, Properties properties) {
         this(name, defaultValue, minValue, maxValue, new Color(nameColor.getColor() != null ? nameColor.getColor() : Color.VALUE_WHITE), properties);
@@ -62,9 +63,20 @@ public class ItemStat implements IItemStat {
             throw new IllegalArgumentException("Default value cannot be bigger than maximum value!");
         }
 
+        this.ordinal = ItemStats.STATS_IN_ORDER.size();
         ItemStats.STATS_IN_ORDER.add(this);
     }
 
+    /**
+     * Gets the index of the stat in {@link ItemStats#allStatsOrdered()}. This is stable for a
+     * session, but not between game versions, so it must not be saved.
+     *
+     * @return The stat's ordinal
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
     @Override
     public ResourceLocation getStatId() {
         return name;
@@ -147,6 +147,16 @@ public final class ItemStats {
         return Collections.unmodifiableList(STATS_IN_ORDER);
     }
 
+    /**
+     * Gets the number of stats, which is one more than the highest stat ordinal.
+     *
+     * @return The number of stats
+     * @see ItemStat#getOrdinal()
+     */
+    public static int getStatCount() {
+        return STATS_IN_ORDER.size();
+    }
+
     public static Collection<ItemStat> allStatsOrderedExcluding(Collection<ItemStat> exclude) {
         Collection<ItemStat> ret = new ArrayList<>(STATS_IN_ORDER);
         ret.removeIf(exclude::contains);
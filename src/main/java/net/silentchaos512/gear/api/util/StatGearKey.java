@@ -10,16 +10,21 @@ import net.silentchaos512.gear.api.stats.ItemStat;
 import net.silentchaos512.gear.api.stats.ItemStats;
 
 import javax.annotation.Nullable;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class StatGearKey {
-    private static final Map<Pair<IItemStat, GearType>, StatGearKey> CACHE = new HashMap<>();
+    // Interned keys, indexed by stat ordinal and gear type ordinal. Copy-on-write, so reads need no lock.
+    private static volatile StatGearKey[][] table = new StatGearKey[0][];
+    // Keys for stats which are not ItemStats (LazyItemStat, mainly in data generators)
+    private static final Map<Pair<IItemStat, GearType>, StatGearKey> OTHER_KEYS = new ConcurrentHashMap<>();
 
     private final String key;
     private final IItemStat stat;
     private final GearType gearType;
+    @Nullable private final StatGearKey parent;
 
     private StatGearKey(IItemStat stat, GearType gearType) {
         this.stat = stat;
@@ -30,20 +35,75 @@ public final class StatGearKey {
         } else {
             this.key = SilentGear.shortenId(stat.getStatId());
         }
+
+        GearType parentType = gearType.getParent();
+        this.parent = parentType != null ? of(stat, parentType) : null;
     }
 
     public static StatGearKey of(IItemStat stat, GearType gearType) {
-        return CACHE.computeIfAbsent(Pair.of(stat, gearType), pair ->
-                new StatGearKey(pair.getFirst(), pair.getSecond()));
+        if (stat instanceof ItemStat) {
+            int statIndex = ((ItemStat) stat).getOrdinal();
+            int typeIndex = gearType.getOrdinal();
+            StatGearKey[][] table = StatGearKey.table;
+
+            if (statIndex < table.length) {
+                StatGearKey[] row = table[statIndex];
+                if (row != null && typeIndex < row.length && row[typeIndex] != null) {
+                    return row[typeIndex];
+                }
+            }
+        } else {
+            StatGearKey key = OTHER_KEYS.get(Pair.of(stat, gearType));
+            if (key != null) {
+                return key;
+            }
+        }
+
+        return intern(stat, gearType);
     }
 
+    private static synchronized StatGearKey intern(IItemStat stat, GearType gearType) {
+        if (!(stat instanceof ItemStat)) {
+            Pair<IItemStat, GearType> pair = Pair.of(stat, gearType);
+            StatGearKey existing = OTHER_KEYS.get(pair);
+            if (existing != null) {
+                return existing;
+            }
+            StatGearKey key = new StatGearKey(stat, gearType);
+            OTHER_KEYS.put(pair, key);
+            return key;
+        }
+
+        int statIndex = ((ItemStat) stat).getOrdinal();
+        int typeIndex = gearType.getOrdinal();
+        StatGearKey[][] oldTable = table;
+
+        StatGearKey[] oldRow = statIndex < oldTable.length ? oldTable[statIndex] : null;
+        if (oldRow != null && typeIndex < oldRow.length && oldRow[typeIndex] != null) {
+            return oldRow[typeIndex];
+        }
+
+        // Creates the parent keys first, which may publish a new table
+        StatGearKey key = new StatGearKey(stat, gearType);
+
+        StatGearKey[][] newTable = table;
+        newTable = Arrays.copyOf(newTable, Math.max(newTable.length, Math.max(statIndex + 1, ItemStats.getStatCount())));
+        StatGearKey[] row = newTable[statIndex];
+        row = row != null ? Arrays.copyOf(row, Math.max(row.length, typeIndex + 1)) : new StatGearKey[typeIndex + 1];
+        row[typeIndex] = key;
+        newTable[statIndex] = row;
+        table = newTable;
+        return key;
+    }
+
+    /**
+     * Gets the key for the same stat and the parent gear type, if there is one.
+     *
+     * @return The parent key, or null if the gear type has no parent
+     */
     @Nullable
     public StatGearKey getParent() {
-        GearType parent = this.gearType.getParent();
-        if (parent != null) {
-            return of(this.stat, parent);
-        }
-        return null;
+        return parent;
     }
 
     public IItemStat getStat() {
@@ -76,7 +136,7 @@ public final class StatGearKey {
             gearType = GearType.ALL;
         }
 
-        return new StatGearKey(stat, gearType);
+        return of(stat, gearType);
     }
 
     @Nullable
@@ -103,6 +163,6 @@ public final class StatGearKey {
 
     @Override
     public int hashCode() {
-        return Objects.hash(key);
+        return key.hashCode();
     }
 }
@@ -8,10 +8,13 @@ import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.multiplayer.MultiPlayerGameMode;
 import net.minecraft.client.player.LocalPlayer;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.GameType;
 import net.minecraft.world.phys.HitResult;
+import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.client.event.RenderGuiOverlayEvent;
@@ -23,11 +26,22 @@ import javax.annotation.Nullable;
 @OnlyIn(Dist.CLIENT)
 public class GearHudOverlay {
     protected static final ResourceLocation GUI_ICONS_LOCATION = new ResourceLocation("textures/gui/icons.png");
+    // How far the camera can move or turn before the extra reach target is traced again
+    private static final double TARGET_MOVE_THRESHOLD_SQR = 0.1 * 0.1;
+    private static final float TARGET_ROTATION_THRESHOLD = 2f;
 
     private final Minecraft mc;
     private int scaledWidth;
     private int scaledHeight;
 
+    // Last extra reach target, and the state it was traced with
+    @Nullable private Entity extraReachTarget;
+    private long extraReachTick = Long.MIN_VALUE;
+    private ItemStack extraReachStack = ItemStack.EMPTY;
+    private Vec3 extraReachEyePos = Vec3.ZERO;
+    private float extraReachYRot;
+    private float extraReachXRot;
+
     public GearHudOverlay() {
         this.mc = Minecraft.getInstance();
     }
@@ -57,7 +71,7 @@ public class GearHudOverlay {
                     if (this.mc.options.attackIndicator().get() == AttackIndicatorStatus.CROSSHAIR) {
                         float f = player.getAttackStrengthScale(0.0F);
                         boolean flag = false;
-                        Entity entity = GearHelper.getAttackTargetWithExtraReach(player);
+                        Entity entity = getExtraReachTarget(player);
                         if (entity instanceof LivingEntity && f >= 1.0F) {
                             flag = player.getCurrentItemAttackStrengthDelay() > 5.0F;
                             flag = flag & entity.isAlive();
@@ -76,6 +90,32 @@ public class GearHudOverlay {
         }
     }
 
+    @Nullable
+    private Entity getExtraReachTarget(LocalPlayer player) {
+        // Tracing scans all entities along the look vector, so only do it once per tick, unless
+        // the camera moves or turns enough to change the target
+        long tick = player.level().getGameTime();
+        ItemStack stack = player.getMainHandItem();
+        Vec3 eyePos = player.getEyePosition();
+        float yRot = player.getYRot();
+        float xRot = player.getXRot();
+
+        if (tick != this.extraReachTick
+                || stack != this.extraReachStack
+                || eyePos.distanceToSqr(this.extraReachEyePos) > TARGET_MOVE_THRESHOLD_SQR
+                || Math.abs(Mth.wrapDegrees(yRot - this.extraReachYRot)) > TARGET_ROTATION_THRESHOLD
+                || Math.abs(xRot - this.extraReachXRot) > TARGET_ROTATION_THRESHOLD) {
+            this.extraReachTarget = GearHelper.getAttackTargetWithExtraReach(player);
+            this.extraReachTick = tick;
+            this.extraReachStack = stack;
+            this.extraReachEyePos = eyePos;
+            this.extraReachYRot = yRot;
+            this.extraReachXRot = xRot;
+        }
+
+        return this.extraReachTarget;
+    }
+
     private static boolean isEntityTargeted(@Nullable HitResult rayTraceIn) {
         return rayTraceIn != null && rayTraceIn.getType() == HitResult.Type.ENTITY;
     }
@@ -4,7 +4,10 @@ import net.minecraft.ChatFormatting;
 import net.minecraft.client.resources.language.I18n;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.event.TagsUpdatedEvent;
 import net.minecraftforge.event.entity.player.ItemTooltipEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.silentchaos512.gear.api.item.GearType;
@@ -23,8 +26,11 @@ import net.silentchaos512.gear.client.KeyTracker;
 import net.silentchaos512.gear.client.util.TextListBuilder;
 import net.silentchaos512.gear.config.Config;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
+import net.silentchaos512.gear.gear.material.MaterialManager;
 import net.silentchaos512.gear.gear.part.AbstractGearPart;
 import net.silentchaos512.gear.gear.part.PartData;
+import net.silentchaos512.gear.gear.part.PartManager;
+import net.silentchaos512.gear.setup.NerfedGear;
 import net.silentchaos512.gear.setup.SgTags;
 import net.silentchaos512.gear.item.CompoundPartItem;
 import net.silentchaos512.gear.util.TextUtil;
@@ -33,6 +39,7 @@ import net.silentchaos512.lib.util.TagUtils;
 import net.silentchaos512.utils.Color;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public final class TooltipHandler {
@@ -42,6 +49,14 @@ public final class TooltipHandler {
     // JEI's tooltip cache. When disabled, you can search for parts with certain traits.
     private static final boolean TRAIT_DISPLAY_CYCLE = false;
 
+    // What each item could be, so tooltips for unrelated items can be skipped with one lookup
+    private static final Map<Item, Integer> ITEM_FLAGS = new ConcurrentHashMap<>();
+    private static final int FLAG_GRADER_CATALYST = 1;
+    private static final int FLAG_CHARGER_CATALYST = 1 << 1;
+    private static final int FLAG_MATERIAL = 1 << 2;
+    private static final int FLAG_PART = 1 << 3;
+    private static final int FLAG_NERFED = 1 << 4;
+
     static {
         assert ChatFormatting.DARK_GRAY.getColor() != null;
         assert ChatFormatting.GRAY.getColor() != null;
@@ -64,33 +79,86 @@ public final class TooltipHandler {
         */
 
         ItemStack stack = event.getItemStack();
+        int flags = ITEM_FLAGS.computeIfAbsent(stack.getItem(), item -> classifyItem(stack));
+        if (flags == 0) {
+            return;
+        }
 
-        if (TagUtils.contains(SgTags.Items.GRADER_CATALYSTS, stack)) {
+        if ((flags & FLAG_GRADER_CATALYST) != 0) {
             onGraderCatalystTooltip(event);
         }
-        if (TagUtils.contains(SgTags.Items.STARLIGHT_CHARGER_CATALYSTS, stack)) {
+        if ((flags & FLAG_CHARGER_CATALYST) != 0) {
             onStarlightChargerCatalystTooltip(event);
         }
 
-        MaterialInstance material = MaterialInstance.from(stack);
+        MaterialInstance material = (flags & FLAG_MATERIAL) != 0 ? MaterialInstance.from(stack) : null;
         if (material != null) {
             onMaterialTooltip(event, stack, material);
             return;
         }
 
-        PartData part = PartData.from(stack);
+        PartData part = (flags & FLAG_PART) != 0 ? PartData.from(stack) : null;
         if (part != null /*&& !part.isBlacklisted(stack)*/) {
             onPartTooltip(event, stack, part);
             return;
         }
 
         // Nerfed gear?
-        if (Config.Common.isNerfedItem(stack.getItem())) {
+        if ((flags & FLAG_NERFED) != 0) {
             List<Component> toolTip = event.getToolTip();
             toolTip.add(Math.min(1, toolTip.size()), Component.translatable("misc.silentgear.poorlyMade").withStyle(ChatFormatting.RED));
         }
     }
 
+    private static int classifyItem(ItemStack stack) {
+        Item item = stack.getItem();
+        int flags = 0;
+
+        if (TagUtils.contains(SgTags.Items.GRADER_CATALYSTS, stack)) {
+            flags |= FLAG_GRADER_CATALYST;
+        }
+        if (TagUtils.contains(SgTags.Items.STARLIGHT_CHARGER_CATALYSTS, stack)) {
+            flags |= FLAG_CHARGER_CATALYST;
+        }
+        if (MaterialManager.isMaterialCandidate(item)) {
+            flags |= FLAG_MATERIAL;
+        }
+        if (PartManager.isPartCandidate(item) || MaterialManager.isPartSubstituteCandidate(item)) {
+            flags |= FLAG_PART;
+        }
+        if (NerfedGear.isNerfedItem(item)) {
+            flags |= FLAG_NERFED;
+        }
+
+        return flags;
+    }
+
+    @SubscribeEvent
+    public void onTagsUpdated(TagsUpdatedEvent event) {
+        ITEM_FLAGS.clear();
+    }
+
+    @SubscribeEvent
+    public void onLoggingIn(ClientPlayerNetworkEvent.LoggingIn event) {
+        // Materials and parts have been synced from the server
+        ITEM_FLAGS.clear();
+    }
+
+    /**
+     * Called after a delta sync changes materials, parts, or traits. Items may have become (or
+     * stopped being) materials or parts.
+     */
+    public static void onDataSynced() {
+        ITEM_FLAGS.clear();
+    }
+
+    /**
+     * Called by {@link NerfedGear#onConfigReloading} after the nerfed item map is rebuilt.
+     */
+    public static void onConfigReloaded() {
+        ITEM_FLAGS.clear();
+    }
+
     private static void onGraderCatalystTooltip(ItemTooltipEvent event) {
         int tier = GraderTileEntity.getCatalystTier(event.getItemStack());
         event.getToolTip().add(TextUtil.withColor(TextUtil.misc("graderCatalyst", tier), Color.DARKORANGE));
@@ -44,6 +44,7 @@ public class DefaultMaterialDisplay extends MaterialDisplay {
             } else {
                 map.put(key, MaterialLayerList.DEFAULT);
             }
+            clearResolvedLayerLists();
         }
     }
 }
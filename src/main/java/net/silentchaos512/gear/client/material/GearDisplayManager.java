@@ -17,6 +17,7 @@ import net.silentchaos512.gear.api.material.IMaterialInstance;
 import net.silentchaos512.gear.api.part.IGearPart;
 import net.silentchaos512.gear.api.part.IPartDisplay;
 import net.silentchaos512.gear.api.part.PartDisplay;
+import net.silentchaos512.gear.client.util.GearRenderInfo;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
 import net.silentchaos512.gear.gear.material.MaterialManager;
 import net.silentchaos512.gear.util.IEarlySelectiveReloadListener;
@@ -38,6 +39,8 @@ public final class GearDisplayManager implements IEarlySelectiveReloadListener {
     private static final Map<ResourceLocation, IMaterialDisplay> MATERIALS = Collections.synchronizedMap(new LinkedHashMap<>());
     private static final Map<ResourceLocation, IPartDisplay> PARTS = Collections.synchronizedMap(new LinkedHashMap<>());
     private static final Collection<String> ERROR_LIST = new ArrayList<>();
+    // Display properties of all loaded materials, rebuilt when materials or models are reloaded
+    @Nullable private static volatile List<IMaterialDisplay> materialInstanceDisplays = null;
 
     private GearDisplayManager() {}
 
@@ -48,8 +51,10 @@ public final class GearDisplayManager implements IEarlySelectiveReloadListener {
 //        GearModelLoader.clearCaches();
 
         ERROR_LIST.clear();
+        invalidateMaterialDisplays();
         reloadMaterials(resourceManager);
         reloadParts(resourceManager);
+        GearRenderInfo.clearCache();
     }
 
     private static void reloadMaterials(ResourceManager resourceManager) {
@@ -126,13 +131,32 @@ public final class GearDisplayManager implements IEarlySelectiveReloadListener {
 
     public static Collection<IMaterialDisplay> getMaterials() {
         synchronized (MATERIALS) {
-            Collection<IMaterialDisplay> ret = new ArrayList<>();
+            Collection<IMaterialDisplay> ret = new ArrayList<>(getMaterialInstanceDisplays());
+            ret.addAll(MATERIALS.values());
+            return ret;
+        }
+    }
+
+    private static List<IMaterialDisplay> getMaterialInstanceDisplays() {
+        List<IMaterialDisplay> list = materialInstanceDisplays;
+        if (list == null) {
+            list = new ArrayList<>();
             for (IMaterial material : MaterialManager.getValues()) {
                 MaterialInstance mat = MaterialInstance.of(material);
-                ret.add(mat.getDisplayProperties());
+                list.add(mat.getDisplayProperties());
             }
-            ret.addAll(MATERIALS.values());
-            return ret;
+            materialInstanceDisplays = list;
+        }
+        return list;
+    }
+
+    /**
+     * Discards the display properties of loaded materials. Called when material models are
+     * reloaded, and when materials are reloaded or received from the server.
+     */
+    public static void invalidateMaterialDisplays() {
+        synchronized (MATERIALS) {
+            materialInstanceDisplays = null;
         }
     }
 
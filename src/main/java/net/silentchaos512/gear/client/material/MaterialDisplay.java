@@ -13,12 +13,16 @@ import net.silentchaos512.gear.api.part.IPartData;
 import net.silentchaos512.gear.api.part.PartType;
 import net.silentchaos512.gear.api.util.PartGearKey;
 
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class MaterialDisplay implements IMaterialDisplay {
     protected final Map<PartGearKey, MaterialLayerList> map = new LinkedHashMap<>();
     private final ResourceLocation id;
+    // Layer lists with gear type fallbacks already resolved, indexed by part type ordinal, then
+    // gear type ordinal. Filled in on first lookup of each pair.
+    private volatile MaterialLayerList[][] resolved = new MaterialLayerList[0][];
 
     public static MaterialDisplay of(ResourceLocation id, Map<PartGearKey, MaterialLayerList> display) {
         MaterialDisplay model = new MaterialDisplay(id);
@@ -37,7 +41,41 @@ public class MaterialDisplay implements IMaterialDisplay {
 
     @Override
     public IMaterialLayerList getLayerList(GearType gearType, IPartData part, IMaterialInstance materialIn) {
-        return map.getOrDefault(getMostSpecificKey(gearType, part.getType()), MaterialLayerList.DEFAULT);
+        return getResolvedLayerList(gearType, part.getType());
+    }
+
+    private MaterialLayerList getResolvedLayerList(GearType gearType, PartType partType) {
+        int partIndex = partType.getOrdinal();
+        int gearIndex = gearType.getOrdinal();
+
+        MaterialLayerList[][] table = this.resolved;
+        if (partIndex >= table.length) {
+            // Part type created after the table was (this is unusual)
+            table = Arrays.copyOf(table, PartType.getTypeCount());
+            this.resolved = table;
+        }
+
+        MaterialLayerList[] row = table[partIndex];
+        if (row == null || gearIndex >= row.length) {
+            int gearTypeCount = GearType.getTypeCount();
+            row = row == null ? new MaterialLayerList[gearTypeCount] : Arrays.copyOf(row, gearTypeCount);
+            table[partIndex] = row;
+        }
+
+        MaterialLayerList layerList = row[gearIndex];
+        if (layerList == null) {
+            layerList = map.getOrDefault(getMostSpecificKey(gearType, partType), MaterialLayerList.DEFAULT);
+            row[gearIndex] = layerList;
+        }
+        return layerList;
+    }
+
+    /**
+     * Discards resolved layer lists. Must be called if {@link #map} is modified after the first
+     * lookup.
+     */
+    protected void clearResolvedLayerLists() {
+        this.resolved = new MaterialLayerList[0][];
     }
 
     private PartGearKey getMostSpecificKey(GearType gearType, PartType partType) {
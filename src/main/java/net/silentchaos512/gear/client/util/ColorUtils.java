@@ -1,7 +1,5 @@
 package net.silentchaos512.gear.client.util;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import net.minecraft.world.item.ItemStack;
 import net.silentchaos512.gear.api.item.GearType;
 import net.silentchaos512.gear.api.item.ICoreItem;
@@ -13,48 +11,35 @@ import net.silentchaos512.gear.api.part.PartType;
 import net.silentchaos512.gear.gear.part.PartData;
 import net.silentchaos512.gear.item.CompoundMaterialItem;
 import net.silentchaos512.gear.item.CompoundPartItem;
+import net.silentchaos512.gear.util.GearConstruction;
 import net.silentchaos512.gear.util.GearData;
 import net.silentchaos512.utils.Color;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 public final class ColorUtils {
+    private static final int NOT_CACHED = -1;
+
     private ColorUtils() {}
 
     public static int getBlendedColor(ICoreItem item, IPartData part, Collection<? extends IMaterialInstance> materials, int layer) {
-        int[] componentSums = new int[3];
-        int maxColorSum = 0;
-        int colorCount = 0;
+        Blend blend = new Blend();
 
         int i = 0;
         for (IMaterialInstance mat : materials) {
             IMaterialDisplay model = mat.getDisplayProperties();
             int color = model.getLayerColor(item.getGearType(), part, mat, layer);
-            int r = (color >> 16) & 0xFF;
-            int g = (color >> 8) & 0xFF;
-            int b = color & 0xFF;
-            int colorWeight = (materials.size() - i) * (materials.size() - i);
-            for (int j = 0; j < colorWeight; ++j) {
-                maxColorSum += Math.max(r, Math.max(g, b));
-                componentSums[0] += r;
-                componentSums[1] += g;
-                componentSums[2] += b;
-                ++colorCount;
-            }
+            int weight = (materials.size() - i) * (materials.size() - i);
+            blend.add(color, weight);
             ++i;
         }
 
-        return blendColors(componentSums, maxColorSum, colorCount);
+        return blend.getColor();
     }
 
     public static int getBlendedColor(CompoundPartItem item, Collection<? extends IMaterialInstance> materials, int layer) {
-        int[] componentSums = new int[3];
-        int maxColorSum = 0;
-        int colorCount = 0;
+        Blend blend = new Blend();
 
         int i = 0;
         for (IMaterialInstance mat : materials) {
@@ -62,28 +47,16 @@ public final class ColorUtils {
             List<MaterialLayer> layers = model.getLayerList(item.getGearType(), item.getPartType(), mat).getLayers();
             if (layers.size() > layer) {
                 int color = model.getLayerColor(item.getGearType(), item.getPartType(), mat, layer);
-                int r = (color >> 16) & 0xFF;
-                int g = (color >> 8) & 0xFF;
-                int b = color & 0xFF;
-                int colorWeight = item.getColorWeight(i, materials.size());
-                for (int j = 0; j < colorWeight; ++j) {
-                    maxColorSum += Math.max(r, Math.max(g, b));
-                    componentSums[0] += r;
-                    componentSums[1] += g;
-                    componentSums[2] += b;
-                    ++colorCount;
-                }
+                blend.add(color, item.getColorWeight(i, materials.size()));
                 ++i;
             }
         }
 
-        return blendColors(componentSums, maxColorSum, colorCount);
+        return blend.getColor();
     }
 
     public static int getBlendedColor(CompoundMaterialItem item, Collection<? extends IMaterialInstance> materials, int layer) {
-        int[] componentSums = new int[3];
-        int maxColorSum = 0;
-        int colorCount = 0;
+        Blend blend = new Blend();
 
         int i = 0;
         for (IMaterialInstance mat : materials) {
@@ -91,123 +64,88 @@ public final class ColorUtils {
             List<MaterialLayer> layers = model.getLayerList(GearType.ALL, PartType.MAIN, mat).getLayers();
             if (layers.size() > layer) {
                 int color = layers.get(layer).getColor();
-                int r = (color >> 16) & 0xFF;
-                int g = (color >> 8) & 0xFF;
-                int b = color & 0xFF;
-                int colorWeight = item.getColorWeight(i, materials.size());
-                for (int j = 0; j < colorWeight; ++j) {
-                    maxColorSum += Math.max(r, Math.max(g, b));
-                    componentSums[0] += r;
-                    componentSums[1] += g;
-                    componentSums[2] += b;
-                    ++colorCount;
-                }
+                blend.add(color, item.getColorWeight(i, materials.size()));
                 ++i;
             }
         }
 
-        return blendColors(componentSums, maxColorSum, colorCount);
-    }
-
-    private static int blendColors(int[] componentSums, float maxColorSum, int colorCount) {
-        if (colorCount > 0) {
-            int r = componentSums[0] / colorCount;
-            int g = componentSums[1] / colorCount;
-            int b = componentSums[2] / colorCount;
-            float maxAverage = maxColorSum / (float) colorCount;
-            float max = (float) Math.max(r, Math.max(g, b));
-            r = (int) ((float) r * maxAverage / max);
-            g = (int) ((float) g * maxAverage / max);
-            b = (int) ((float) b * maxAverage / max);
-            int finalColor = (r << 8) + g;
-            finalColor = (finalColor << 8) + b;
-            return finalColor;
-        }
-
-        return Color.VALUE_WHITE;
+        return blend.getColor();
     }
 
     public static int getBlendedColor(ItemStack stack, PartType partType) {
-        if (hasCachedColor(stack, partType, 0)) {
-            return getCachedColor(stack, partType, 0);
+        GearConstruction construction = GearData.getConstruction(stack);
+        if (construction.isEmpty()) {
+            return Color.VALUE_WHITE;
         }
 
-        // Calculate and cache the layer color
-        List<PartData> list = GearData.getConstructionParts(stack).getPartsOfType(partType);
-        if (!list.isEmpty()) {
-            int color = getBlendedColor(stack, list) & 0xFFFFFF;
-            setCachedColor(stack, partType, 0, color);
-            return color;
+        GearRenderInfo renderInfo = GearRenderInfo.get(stack);
+        int color = renderInfo.getPartColor(partType);
+        if (color == NOT_CACHED) {
+            // Calculate and cache the layer color
+            List<PartData> list = GearData.getConstructionParts(stack).getPartsOfType(partType);
+            color = !list.isEmpty() ? getBlendedColor(stack, list) & 0xFFFFFF : Color.VALUE_WHITE;
+            renderInfo.setPartColor(partType, color);
         }
-        return Color.VALUE_WHITE;
+        return color;
     }
 
     private static int getBlendedColor(ItemStack gear, List<PartData> parts) {
-        int[] componentSums = new int[3];
-        int maxColorSum = 0;
-        int colorCount = 0;
+        Blend blend = new Blend();
 
         int partCount = parts.size();
         for (int i = 0; i < partCount; ++i) {
             PartData part = parts.get(i);
             int color = part.get().getColor(part, gear, 0, 0);
-            int r = (color >> 16) & 0xFF;
-            int g = (color >> 8) & 0xFF;
-            int b = color & 0xFF;
-            // Add earlier colors multiple times, to give them greater weight
-            int colorWeight = (partCount - i) * (partCount - i);
-            for (int j = 0; j < colorWeight; ++j) {
-                maxColorSum += Math.max(r, Math.max(g, b));
-                componentSums[0] += r;
-                componentSums[1] += g;
-                componentSums[2] += b;
-                ++colorCount;
-            }
-        }
-
-        if (colorCount > 0) {
-            int r = componentSums[0] / colorCount;
-            int g = componentSums[1] / colorCount;
-            int b = componentSums[2] / colorCount;
-            float maxAverage = (float) maxColorSum / (float) colorCount;
-            float max = (float) Math.max(r, Math.max(g, b));
-            r = (int) ((float) r * maxAverage / max);
-            g = (int) ((float) g * maxAverage / max);
-            b = (int) ((float) b * maxAverage / max);
-            int finalColor = (r << 8) + g;
-            finalColor = (finalColor << 8) + b;
-            return finalColor;
+            // Earlier colors get a greater weight
+            int weight = (partCount - i) * (partCount - i);
+            blend.add(color, weight);
         }
 
-        return Color.VALUE_WHITE;
+        return blend.getColor();
     }
 
-    public static final Cache<String, Map<PartType, Integer>> GEAR_COLOR_CACHE = CacheBuilder.newBuilder()
-            .maximumSize(1000)
-            .expireAfterWrite(5, TimeUnit.MINUTES)
-            .build();
+    /**
+     * Blends weighted colors. The result is the weighted average of the colors, scaled so its
+     * brightest channel matches the weighted average of the brightest channels of the colors.
+     * Each color is added once, multiplied by its weight, which gives the same sums (and the same
+     * result) as adding the color weight times. Weights below zero count as zero.
+     */
+    static final class Blend {
+        private int redSum;
+        private int greenSum;
+        private int blueSum;
+        private int maxColorSum;
+        private int colorCount;
+
+        void add(int color, int weight) {
+            if (weight <= 0) return;
 
-    public static boolean hasCachedColor(ItemStack stack, PartType partType, int animationFrame) {
-        String modelKey = GearData.getModelKey(stack, animationFrame);
-        Map<PartType, Integer> map = GEAR_COLOR_CACHE.getIfPresent(modelKey);
-        return map != null && map.containsKey(partType);
-    }
-
-    public static int getCachedColor(ItemStack stack, PartType partType, int animationFrame) {
-        Map<PartType, Integer> partTypeMap = GEAR_COLOR_CACHE.getIfPresent(GearData.getModelKey(stack, animationFrame));
-        if (partTypeMap != null) {
-            return partTypeMap.getOrDefault(partType, Color.VALUE_WHITE);
+            int r = (color >> 16) & 0xFF;
+            int g = (color >> 8) & 0xFF;
+            int b = color & 0xFF;
+            this.maxColorSum += Math.max(r, Math.max(g, b)) * weight;
+            this.redSum += r * weight;
+            this.greenSum += g * weight;
+            this.blueSum += b * weight;
+            this.colorCount += weight;
         }
-        return Color.VALUE_WHITE;
-    }
 
-    public static void setCachedColor(ItemStack stack, PartType partType, int animationFrame, int color) {
-        String modelKey = GearData.getModelKey(stack, animationFrame);
-        Map<PartType, Integer> map = GEAR_COLOR_CACHE.getIfPresent(modelKey);
-        if (map == null) {
-            map = new HashMap<>();
-            GEAR_COLOR_CACHE.put(modelKey, map);
+        int getColor() {
+            if (this.colorCount > 0) {
+                int r = this.redSum / this.colorCount;
+                int g = this.greenSum / this.colorCount;
+                int b = this.blueSum / this.colorCount;
+                float maxAverage = (float) this.maxColorSum / (float) this.colorCount;
+                float max = (float) Math.max(r, Math.max(g, b));
+                r = (int) ((float) r * maxAverage / max);
+                g = (int) ((float) g * maxAverage / max);
+                b = (int) ((float) b * maxAverage / max);
+                int finalColor = (r << 8) + g;
+                finalColor = (finalColor << 8) + b;
+                return finalColor;
+            }
+
+            return Color.VALUE_WHITE;
         }
-        map.put(partType, color);
     }
 }
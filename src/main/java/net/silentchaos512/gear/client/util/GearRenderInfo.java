@@ -0,0 +1,120 @@
+package net.silentchaos512.gear.client.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.silentchaos512.gear.api.part.PartType;
+import net.silentchaos512.gear.config.Config;
+import net.silentchaos512.gear.util.GearConstruction;
+import net.silentchaos512.gear.util.GearData;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * Blended part colors, armor dye color, and armor texture paths for a gear item, shared by the
+ * item color and armor rendering code. Entries are keyed by item and construction model hash, so
+ * every stack which renders the same way shares one entry, and values are computed on first use.
+ * Least recently used entries are dropped when the cache is full. All entries are discarded when
+ * resources or data are reloaded.
+ * <p>
+ * The integrated server may read armor colors too, so values may be computed on either thread.
+ * Values are deterministic, so threads racing to compute one just store the same value. Broken
+ * state is not cached, since damage changes without the construction changing.
+ */
+@OnlyIn(Dist.CLIENT)
+public final class GearRenderInfo {
+    private static final Long2ObjectLinkedOpenHashMap<GearRenderInfo> CACHE = new Long2ObjectLinkedOpenHashMap<>();
+    // Used when the client config is not loaded yet
+    private static final int DEFAULT_MAX_SIZE = 2048;
+    private static final int NOT_CACHED = -1;
+
+    private final int[] partColors;
+    private volatile int armorColor = NOT_CACHED;
+    private final String[] armorTextures = new String[2];
+
+    private GearRenderInfo() {
+        this.partColors = new int[PartType.getTypeCount()];
+        Arrays.fill(this.partColors, NOT_CACHED);
+    }
+
+    /**
+     * Gets the render info for the gear item.
+     *
+     * @param stack The gear item
+     * @return The render info
+     */
+    public static GearRenderInfo get(ItemStack stack) {
+        GearConstruction construction = GearData.getConstruction(stack);
+        if (construction.isEmpty()) {
+            // Shared by every item with no parts, so don't cache it
+            return new GearRenderInfo();
+        }
+
+        long key = construction.getModelHash() * 31 + Item.getId(stack.getItem());
+        synchronized (CACHE) {
+            GearRenderInfo info = CACHE.getAndMoveToLast(key);
+            if (info == null) {
+                info = new GearRenderInfo();
+                CACHE.putAndMoveToLast(key, info);
+
+                int maxSize = Config.Client.isLoaded() ? Config.Client.gearColorCacheSize.get() : DEFAULT_MAX_SIZE;
+                while (CACHE.size() > maxSize) {
+                    CACHE.removeFirst();
+                }
+            }
+            return info;
+        }
+    }
+
+    public static void clearCache() {
+        synchronized (CACHE) {
+            CACHE.clear();
+            CACHE.trim();
+        }
+    }
+
+    /**
+     * Gets the blended color of all parts of the given type.
+     *
+     * @param partType The part type
+     * @return The color, or -1 if it has not been computed yet
+     */
+    public int getPartColor(PartType partType) {
+        return partColors[partType.getOrdinal()];
+    }
+
+    public void setPartColor(PartType partType, int color) {
+        partColors[partType.getOrdinal()] = color;
+    }
+
+    /**
+     * Gets the dye color for armor, which is the color of the outer-most part.
+     *
+     * @return The color, or -1 if it has not been computed yet
+     */
+    public int getArmorColor() {
+        return armorColor;
+    }
+
+    public void setArmorColor(int color) {
+        this.armorColor = color;
+    }
+
+    /**
+     * Gets the armor texture path for the armor layer.
+     *
+     * @param layer The armor layer (1 or 2)
+     * @return The texture path, or null if it has not been computed yet
+     */
+    @Nullable
+    public String getArmorTexture(int layer) {
+        return armorTextures[layer - 1];
+    }
+
+    public void setArmorTexture(int layer, String texture) {
+        armorTextures[layer - 1] = texture;
+    }
+}
@@ -17,9 +17,8 @@ import net.silentchaos512.gear.util.GearHelper;
 import net.silentchaos512.gear.util.IAoeTool;
 import net.silentchaos512.lib.util.NameUtils;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import javax.annotation.Nullable;
+import java.util.*;
 
 public final class Config {
     public static final class Common {
@@ -32,9 +31,11 @@ public final class Config {
         public static final ForgeConfigSpec.DoubleValue nerfedItemDurabilityMulti;
         public static final ForgeConfigSpec.DoubleValue nerfedItemHarvestSpeedMulti;
         static final ForgeConfigSpec.ConfigValue<List<? extends String>> nerfedItems;
+        private static final IdSet NERFED_ITEM_IDS;
         // Sinew
         public static final ForgeConfigSpec.DoubleValue sinewDropRate;
         static final ForgeConfigSpec.ConfigValue<List<? extends String>> sinewAnimals;
+        private static final IdSet SINEW_ANIMAL_IDS;
         // Gear
         public static final ForgeConfigSpec.BooleanValue allowLegacyMaterialMixing;
         public static final ForgeConfigSpec.BooleanValue allowConversionRecipes;
@@ -159,6 +160,7 @@ public final class Config {
                 nerfedItems = builder
                         .comment("These items will have reduced durability")
                         .defineList("items", NerfedGear.DEFAULT_ITEMS, Config::isResourceLocation);
+                NERFED_ITEM_IDS = new IdSet(nerfedItems);
                 builder.pop();
             }
             {
@@ -177,6 +179,7 @@ public final class Config {
                                         "minecraft:sheep"
                                 ),
                                 Config::isResourceLocation);
+                SINEW_ANIMAL_IDS = new IdSet(sinewAnimals);
                 builder.pop();
             }
             {
@@ -385,22 +388,46 @@ public final class Config {
 
         @SuppressWarnings("TypeMayBeWeakened")
         public static boolean isNerfedItem(Item item) {
-            return nerfedItemsEnabled.get() && isThingInList(NameUtils.fromItem(item), nerfedItems);
+            return nerfedItemsEnabled.get() && NERFED_ITEM_IDS.contains(NameUtils.fromItem(item));
         }
 
         public static boolean isSinewAnimal(LivingEntity entity) {
-            return isThingInList(NameUtils.fromEntity(entity), sinewAnimals);
+            return SINEW_ANIMAL_IDS.contains(NameUtils.fromEntity(entity));
+        }
+    }
+
+    /**
+     * The IDs in a config list, parsed once. The parsed set is rebuilt whenever the config value
+     * returns a different list, which happens when the file is reloaded or the value is set (for
+     * example, from a config GUI).
+     */
+    static final class IdSet {
+        private final ForgeConfigSpec.ConfigValue<List<? extends String>> value;
+        private volatile Snapshot snapshot = new Snapshot(null, Collections.emptySet());
+
+        IdSet(ForgeConfigSpec.ConfigValue<List<? extends String>> value) {
+            this.value = value;
         }
 
-        private static boolean isThingInList(ResourceLocation name, ForgeConfigSpec.ConfigValue<List<? extends String>> list) {
-            for (String str : list.get()) {
-                ResourceLocation fromList = ResourceLocation.tryParse(str);
-                if (fromList != null && fromList.equals(name)) {
-                    return true;
+        boolean contains(ResourceLocation name) {
+            List<? extends String> list = this.value.get();
+            Snapshot current = this.snapshot;
+            if (list != current.source) {
+                Set<ResourceLocation> set = new HashSet<>();
+                for (String str : list) {
+                    ResourceLocation id = ResourceLocation.tryParse(str);
+                    if (id != null) {
+                        set.add(id);
+                    }
                 }
+                // Threads may race to parse the same list, but they all get the same set
+                current = new Snapshot(list, set);
+                this.snapshot = current;
             }
-            return false;
+            return current.ids.contains(name);
         }
+
+        private record Snapshot(@Nullable List<? extends String> source, Set<ResourceLocation> ids) {}
     }
 
     private static boolean isResourceLocation(Object o) {
@@ -412,6 +439,7 @@ public final class Config {
 
         public static final ForgeConfigSpec.BooleanValue allowEnchantedEffect;
         public static final ForgeConfigSpec.BooleanValue playKachinkSound;
+        public static final ForgeConfigSpec.IntValue gearColorCacheSize;
         //public static final ForgeConfigSpec.BooleanValue useLiteModels;
         //Tooltip
         public static final ForgeConfigSpec.BooleanValue showMaterialTooltips;
@@ -430,6 +458,10 @@ public final class Config {
             playKachinkSound = builder
                     .comment("Plays a sped-up 'item breaking' sound when an item's stats are recalculated due to durability loss")
                     .define("gear.playKachinkSound", true);
+            gearColorCacheSize = builder
+                    .comment("The number of distinct gear constructions to remember blended colors for.",
+                            "Raise this if you have very large numbers of different gear items on screen at once.")
+                    .defineInRange("gear.colorCacheSize", 2048, 64, 65536);
             /*useLiteModels = builder
                     .comment("Use 'lite' gear models. These should be easier on some systems, but do not allow unique textures for different materials.",
                             "Currently, this option has no effect, as the normal model system is not working yet (lite models are used)")
@@ -456,6 +488,10 @@ public final class Config {
         }
 
         private Client() {}
+
+        public static boolean isLoaded() {
+            return spec.isLoaded();
+        }
     }
 
     private Config() {}
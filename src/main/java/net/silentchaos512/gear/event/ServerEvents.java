@@ -2,6 +2,7 @@ package net.silentchaos512.gear.event;
 
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.event.OnDatapackSyncEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
@@ -12,12 +13,14 @@ import net.silentchaos512.gear.gear.material.MaterialManager;
 import net.silentchaos512.gear.gear.part.PartManager;
 import net.silentchaos512.gear.gear.trait.TraitManager;
 import net.silentchaos512.gear.network.Network;
+import net.silentchaos512.gear.network.SyncDataDeltaPacket;
 import net.silentchaos512.gear.network.SyncGearCraftingItemsPacket;
 import net.silentchaos512.gear.network.SyncMaterialCraftingItemsPacket;
 
 /**
  * Handles chat error messages. Previously handled sending parts and traits to the client, but this
- * is done with login messages now that that is possible.
+ * is done with login messages now that that is possible. Changes from data reloads are sent to
+ * connected players with {@link SyncDataDeltaPacket}.
  */
 @Mod.EventBusSubscriber(modid = SilentGear.MOD_ID)
 public final class ServerEvents {
@@ -40,4 +43,10 @@ public final class ServerEvents {
         MaterialManager.getErrorMessages(playerMP).forEach(playerMP::sendSystemMessage);
         PartManager.getErrorMessages(playerMP).forEach(playerMP::sendSystemMessage);
     }
+
+    @SubscribeEvent
+    public static void onDatapackSync(OnDatapackSyncEvent event) {
+        // Sends data changes to connected players after a reload
+        SyncDataDeltaPacket.onDatapackSync(event);
+    }
 }
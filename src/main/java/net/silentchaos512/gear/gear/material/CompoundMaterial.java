@@ -22,6 +22,7 @@ import net.silentchaos512.gear.api.util.StatGearKey;
 import net.silentchaos512.gear.client.material.CompoundMaterialDisplay;
 import net.silentchaos512.gear.item.CompoundMaterialItem;
 import net.silentchaos512.gear.network.SyncMaterialCraftingItemsPacket;
+import net.silentchaos512.gear.util.EventHelper;
 import net.silentchaos512.gear.util.ModResourceLocation;
 import net.silentchaos512.gear.util.SynergyUtils;
 import net.silentchaos512.gear.util.TraitHelper;
@@ -171,16 +172,20 @@ public class CompoundMaterial implements IMaterial { // TODO: Extend AbstractMat
         }
 
         MaterialInstance matInst = material instanceof MaterialInstance ? (MaterialInstance) material : null;
-        GetMaterialStatsEvent event = null;
+        List<StatInstance> modsToCompress = Collections.emptyList();
         if (matInst != null) {
-            // FIXME: Potentially bad cast, need to rework event
-            event = new GetMaterialStatsEvent(matInst, stat, partType, statMods);
-            MinecraftForge.EVENT_BUS.post(event);
+            modsToCompress = statMods;
+            if (EventHelper.hasListeners(GetMaterialStatsEvent.class)) {
+                // FIXME: Potentially bad cast, need to rework event
+                GetMaterialStatsEvent event = new GetMaterialStatsEvent(matInst, stat, partType, statMods);
+                MinecraftForge.EVENT_BUS.post(event);
+                modsToCompress = event.getModifiers();
+            }
         }
 
         // Average together all modifiers of the same op. This makes things like rods with varying
         // numbers of materials more "sane".
-        List<StatInstance> ret = new ArrayList<>(event != null ? event.getModifiers() : Collections.emptyList());
+        List<StatInstance> ret = new ArrayList<>(modsToCompress);
         for (StatInstance.Operation op : StatInstance.Operation.values()) {
             Collection<StatInstance> modsForOp = ret.stream().filter(s -> s.getOp() == op).collect(Collectors.toList());
             if (modsForOp.size() > 1) {
@@ -192,7 +197,8 @@ public class CompoundMaterial implements IMaterial { // TODO: Extend AbstractMat
 
         // Synergy
         if (stat.doesSynergyApply() && matInst != null) {
-            final float synergy = SynergyUtils.getSynergy(partType, new ArrayList<>(materials), getTraits(matInst, PartGearKey.ofAll(partType), gear));
+            final float synergy = SynergyUtils.getCachedSynergy(Arrays.asList(matInst.getId(), matInst.getGrade(), matInst.getItem().getTag(), partType), () ->
+                    SynergyUtils.getSynergy(partType, new ArrayList<>(materials), getTraits(matInst, PartGearKey.ofAll(partType), gear)));
             if (!MathUtils.floatsEqual(synergy, 1.0f)) {
                 final float multi = synergy - 1f;
                 for (int i = 0; i < ret.size(); ++i) {
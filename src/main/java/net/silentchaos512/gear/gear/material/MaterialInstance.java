@@ -29,6 +29,7 @@ import net.silentchaos512.gear.api.util.PartGearKey;
 import net.silentchaos512.gear.api.util.StatGearKey;
 import net.silentchaos512.gear.gear.part.RepairContext;
 import net.silentchaos512.gear.api.util.DataResource;
+import net.silentchaos512.gear.util.EventHelper;
 import net.silentchaos512.gear.util.GearData;
 import net.silentchaos512.gear.util.GearHelper;
 import net.silentchaos512.lib.util.InventoryUtils;
@@ -165,6 +166,9 @@ public final class MaterialInstance implements IMaterialInstance {
             mods = materialModifier.modifyStats(this, partType, key, mods);
         }
 
+        if (!EventHelper.hasListeners(GetMaterialStatsEvent.class)) {
+            return mods;
+        }
         GetMaterialStatsEvent event = new GetMaterialStatsEvent(this, stat, partType, mods);
         MinecraftForge.EVENT_BUS.post(event);
         return event.getModifiers();
@@ -4,6 +4,7 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Multimap;
 import com.google.gson.*;
+import com.mojang.datafixers.util.Pair;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
@@ -13,11 +14,18 @@ import net.minecraft.server.packs.resources.Resource;
 import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
 import net.minecraft.util.GsonHelper;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
 import net.minecraftforge.network.NetworkEvent;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.material.IMaterial;
+import net.silentchaos512.gear.api.part.PartType;
+import net.silentchaos512.gear.client.material.GearDisplayManager;
 import net.silentchaos512.gear.network.SyncMaterialsPacket;
+import net.silentchaos512.gear.util.GearData;
+import net.silentchaos512.gear.util.IngredientIndex;
 import net.silentchaos512.gear.util.TextUtil;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.Marker;
@@ -41,6 +49,9 @@ public class MaterialManager implements ResourceManagerReloadListener {
     private static final Map<ResourceLocation, IMaterial> MATERIALS = Collections.synchronizedMap(new LinkedHashMap<>());
     private static final Collection<String> ERROR_LIST = new ArrayList<>();
     private static final Collection<String> INGREDIENT_CONFLICT_LIST = new ArrayList<>();
+    // Built lazily, since tags are not bound yet when reload listeners run
+    @Nullable private static volatile IngredientIndex<IMaterial> itemIndex = null;
+    @Nullable private static volatile IngredientIndex<Pair<IMaterial, PartType>> partSubstituteIndex = null;
 
     @Override
     public void onResourceManagerReload(ResourceManager resourceManager) {
@@ -83,6 +94,11 @@ public class MaterialManager implements ResourceManagerReloadListener {
                     }
                 }
             }
+
+            itemIndex = null;
+            partSubstituteIndex = null;
+            GearData.invalidateCaches();
+            DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> GearDisplayManager::invalidateMaterialDisplays);
         }
 
         checkForIngredientConflicts(ingredientConflicts);
@@ -159,14 +175,88 @@ public class MaterialManager implements ResourceManagerReloadListener {
     @Nullable
     public static IMaterial from(ItemStack stack) {
         if (stack.isEmpty()) return null;
+        return getItemIndex().getFirst(stack);
+    }
+
+    private static IngredientIndex<IMaterial> getItemIndex() {
+        IngredientIndex<IMaterial> index = itemIndex;
+        if (index == null) {
+            synchronized (MATERIALS) {
+                index = itemIndex;
+                if (index == null) {
+                    index = IngredientIndex.build(MATERIALS.values(), IMaterial::getIngredient);
+                    itemIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Checks if any material could match stacks of the item. If this is false,
+     * {@link #from(ItemStack)} returns null for every stack of the item.
+     *
+     * @param item The item
+     * @return True if some material's ingredient might accept the item
+     */
+    public static boolean isMaterialCandidate(Item item) {
+        return !getItemIndex().getCandidates(item).isEmpty();
+    }
+
+    /**
+     * Checks if any material part substitute could match stacks of the item.
+     *
+     * @param item The item
+     * @return True if some part substitute ingredient might accept the item
+     */
+    public static boolean isPartSubstituteCandidate(Item item) {
+        return !getPartSubstituteIndex().getCandidates(item).isEmpty();
+    }
+
+    /**
+     * Gets the material part substitutes which could match the stack, in the same order as a scan
+     * over all materials and part types. The ingredients still need to be tested.
+     *
+     * @param stack The item stack
+     * @return Candidate substitutes, paired with the part type they substitute for
+     */
+    public static List<IngredientIndex.Entry<Pair<IMaterial, PartType>>> getPartSubstituteCandidates(ItemStack stack) {
+        if (stack.isEmpty()) return Collections.emptyList();
+        return getPartSubstituteIndex().getCandidates(stack.getItem());
+    }
 
-        for (IMaterial material : getValues()) {
-            if (material.getIngredient().test(stack)) {
-                return material;
+    private static IngredientIndex<Pair<IMaterial, PartType>> getPartSubstituteIndex() {
+        IngredientIndex<Pair<IMaterial, PartType>> index = partSubstituteIndex;
+        if (index == null) {
+            synchronized (MATERIALS) {
+                index = partSubstituteIndex;
+                if (index == null) {
+                    List<IngredientIndex.Entry<Pair<IMaterial, PartType>>> entries = new ArrayList<>();
+                    for (IMaterial material : MATERIALS.values()) {
+                        if (material.hasPartSubstitutes()) {
+                            for (PartType partType : PartType.getValues()) {
+                                material.getPartSubstitute(partType).ifPresent(ingredient ->
+                                        entries.add(new IngredientIndex.Entry<>(Pair.of(material, partType), ingredient)));
+                            }
+                        }
+                    }
+                    index = IngredientIndex.build(entries);
+                    partSubstituteIndex = index;
+                }
             }
         }
+        return index;
+    }
 
-        return null;
+    /**
+     * Discards the item-to-material index. It will be rebuilt on the next lookup. Must be called
+     * whenever material ingredients or item tags change.
+     */
+    public static void invalidateItemIndex() {
+        synchronized (MATERIALS) {
+            itemIndex = null;
+            partSubstituteIndex = null;
+        }
     }
 
     public static void handleSyncPacket(SyncMaterialsPacket msg, Supplier<NetworkEvent.Context> ctx) {
@@ -177,11 +267,45 @@ public class MaterialManager implements ResourceManagerReloadListener {
                 mat.retainData(oldMaterials.get(mat.getId()));
                 MATERIALS.put(mat.getId(), mat);
             }
+            itemIndex = null;
+            partSubstituteIndex = null;
+            GearData.invalidateCaches();
+            DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> GearDisplayManager::invalidateMaterialDisplays);
             SilentGear.LOGGER.info("Read {} materials from server", MATERIALS.size());
         }
         ctx.get().setPacketHandled(true);
     }
 
+    /**
+     * Applies material changes sent by the server after a data reload.
+     *
+     * @param changed Materials which were added or changed
+     * @param order   IDs of all materials on the server, in the server's order. Any others were removed.
+     */
+    public static void handleDeltaSync(Collection<IMaterial> changed, List<ResourceLocation> order) {
+        synchronized (MATERIALS) {
+            Map<ResourceLocation, IMaterial> previous = new HashMap<>(MATERIALS);
+            for (IMaterial mat : changed) {
+                mat.retainData(previous.get(mat.getId()));
+                previous.put(mat.getId(), mat);
+            }
+            // Rebuild in the server's order, so lookups that take the first match agree with it
+            MATERIALS.clear();
+            for (ResourceLocation id : order) {
+                IMaterial mat = previous.remove(id);
+                if (mat != null) {
+                    MATERIALS.put(id, mat);
+                }
+            }
+            itemIndex = null;
+            partSubstituteIndex = null;
+            GearData.invalidateCaches();
+            DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> GearDisplayManager::invalidateMaterialDisplays);
+            // Anything left over is no longer on the server
+            SilentGear.LOGGER.info("Updated {} and removed {} materials from server", changed.size(), previous.size());
+        }
+    }
+
     public static Collection<Component> getErrorMessages(ServerPlayer player) {
         Collection<Component> ret = new ArrayList<>();
         if (!ERROR_LIST.isEmpty()) {
@@ -25,6 +25,7 @@ import net.silentchaos512.gear.api.stats.StatModifierMap;
 import net.silentchaos512.gear.api.traits.TraitInstance;
 import net.silentchaos512.gear.api.util.PartGearKey;
 import net.silentchaos512.gear.api.util.StatGearKey;
+import net.silentchaos512.gear.util.EventHelper;
 
 import javax.annotation.Nullable;
 import java.util.*;
@@ -86,6 +87,9 @@ public abstract class AbstractGearPart implements IGearPart {
     @Override
     public Collection<StatInstance> getStatModifiers(IPartData part, PartType partType, StatGearKey key, ItemStack gear) {
         List<StatInstance> mods = new ArrayList<>(this.stats.get(key));
+        if (!EventHelper.hasListeners(GetStatModifierEvent.class)) {
+            return mods;
+        }
         GetStatModifierEvent event = new GetStatModifierEvent((PartData) part, (ItemStat) key.getStat(), mods);
         MinecraftForge.EVENT_BUS.post(event);
         return event.getModifiers();
@@ -27,16 +27,14 @@ import net.silentchaos512.gear.client.util.ColorUtils;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
 import net.silentchaos512.gear.gear.material.MaterialManager;
 import net.silentchaos512.gear.item.CompoundPartItem;
+import net.silentchaos512.gear.util.EventHelper;
 import net.silentchaos512.gear.util.GearHelper;
 import net.silentchaos512.gear.util.SynergyUtils;
 import net.silentchaos512.gear.util.TraitHelper;
 import net.silentchaos512.utils.MathUtils;
 
 import javax.annotation.Nullable;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -139,12 +137,15 @@ public class CompoundPart extends AbstractGearPart {
             return statMods;
         }
 
-        GetStatModifierEvent event = new GetStatModifierEvent((PartData) part, (ItemStat) key.getStat(), statMods);
-        MinecraftForge.EVENT_BUS.post(event);
+        if (EventHelper.hasListeners(GetStatModifierEvent.class)) {
+            GetStatModifierEvent event = new GetStatModifierEvent((PartData) part, (ItemStat) key.getStat(), statMods);
+            MinecraftForge.EVENT_BUS.post(event);
+            statMods = event.getModifiers();
+        }
 
         // Average together all modifiers of the same op. This makes things like rods with varying
         // numbers of materials more "sane".
-        List<StatInstance> ret = new ArrayList<>(event.getModifiers());
+        List<StatInstance> ret = new ArrayList<>(statMods);
         for (StatInstance.Operation op : StatInstance.Operation.values()) {
             Collection<StatInstance> modsForOp = ret.stream().filter(s -> s.getOp() == op).collect(Collectors.toList());
             if (modsForOp.size() > 1) {
@@ -156,7 +157,8 @@ public class CompoundPart extends AbstractGearPart {
 
         // Synergy
         if (key.getStat().doesSynergyApply()) {
-            final float synergy = SynergyUtils.getSynergy(this.partType, materials, getTraits(part, PartGearKey.of(gearType, partType), gear));
+            final float synergy = SynergyUtils.getCachedSynergy(Arrays.asList(part, partType), () ->
+                    SynergyUtils.getSynergy(this.partType, materials, getTraits(part, PartGearKey.of(gearType, partType), gear)));
             if (!MathUtils.floatsEqual(synergy, 1.0f)) {
                 final float multi = synergy - 1f;
                 for (int i = 0; i < ret.size(); ++i) {
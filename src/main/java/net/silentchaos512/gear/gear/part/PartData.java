@@ -1,8 +1,8 @@
 package net.silentchaos512.gear.gear.part;
 
+import com.mojang.datafixers.util.Pair;
 import net.minecraft.world.inventory.CraftingContainer;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.crafting.Ingredient;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.network.chat.Component;
@@ -18,6 +18,7 @@ import net.silentchaos512.gear.gear.material.MaterialInstance;
 import net.silentchaos512.gear.gear.material.MaterialManager;
 import net.silentchaos512.gear.item.CompoundPartItem;
 import net.silentchaos512.gear.api.util.DataResource;
+import net.silentchaos512.gear.util.IngredientIndex;
 import net.silentchaos512.lib.util.InventoryUtils;
 
 import javax.annotation.Nonnull;
@@ -84,19 +85,15 @@ public final class PartData implements IPartData {
 
     @Nullable
     private static PartData fromMaterialSubstitute(ItemStack stack) {
-        for (IMaterial material : MaterialManager.getValues()) {
-            if (material.hasPartSubstitutes()) {
-                for (PartType partType : PartType.getValues()) {
-                    Optional<Ingredient> ingredient = material.getPartSubstitute(partType);
-
-                    if (ingredient.isPresent() && ingredient.get().test(stack)) {
-                        Optional<? extends CompoundPartItem> item = partType.getCompoundPartItem(GearType.PART);
-
-                        if (item.isPresent()) {
-                            ItemStack result = item.get().create(MaterialInstance.of(material));
-                            return PartData.from(result, false);
-                        }
-                    }
+        for (IngredientIndex.Entry<Pair<IMaterial, PartType>> entry : MaterialManager.getPartSubstituteCandidates(stack)) {
+            if (entry.getIngredient().test(stack)) {
+                IMaterial material = entry.getValue().getFirst();
+                PartType partType = entry.getValue().getSecond();
+                Optional<? extends CompoundPartItem> item = partType.getCompoundPartItem(GearType.PART);
+
+                if (item.isPresent()) {
+                    ItemStack result = item.get().create(MaterialInstance.of(material));
+                    return PartData.from(result, false);
                 }
             }
         }
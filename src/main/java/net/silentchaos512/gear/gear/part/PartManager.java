@@ -13,12 +13,15 @@ import net.minecraft.server.packs.resources.Resource;
 import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
 import net.minecraft.util.GsonHelper;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.network.NetworkEvent;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.part.IGearPart;
 import net.silentchaos512.gear.api.part.PartType;
 import net.silentchaos512.gear.network.SyncGearPartsPacket;
+import net.silentchaos512.gear.util.GearData;
+import net.silentchaos512.gear.util.IngredientIndex;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
@@ -40,6 +43,8 @@ public final class PartManager implements ResourceManagerReloadListener {
     private static final Map<ResourceLocation, IGearPart> MAP = Collections.synchronizedMap(new LinkedHashMap<>());
     private static int highestMainPartTier = 0;
     private static final Collection<String> ERROR_LIST = new ArrayList<>();
+    // Built lazily, since tags are not bound yet when reload listeners run
+    @Nullable private static volatile IngredientIndex<IGearPart> itemIndex = null;
 
     private PartManager() {}
 
@@ -92,6 +97,8 @@ public final class PartManager implements ResourceManagerReloadListener {
                 }
             }
 
+            itemIndex = null;
+            GearData.invalidateCaches();
             SilentGear.LOGGER.info(MARKER, "Registered {} parts", MAP.size());
         }
     }
@@ -142,15 +149,42 @@ public final class PartManager implements ResourceManagerReloadListener {
     @Nullable
     public static IGearPart from(ItemStack stack) {
         if (stack.isEmpty()) return null;
+        return getItemIndex().getFirst(stack);
+    }
+
+    /**
+     * Checks if any part could match stacks of the item. If this is false,
+     * {@link #from(ItemStack)} returns null for every stack of the item.
+     *
+     * @param item The item
+     * @return True if some part's ingredient might accept the item
+     */
+    public static boolean isPartCandidate(Item item) {
+        return !getItemIndex().getCandidates(item).isEmpty();
+    }
 
-        // We can't reliable keep an IItemProvider -> IGearPart map anymore
-        for (IGearPart part : getValues()) {
-            if (part.getIngredient().test(stack)) {
-                return part;
+    private static IngredientIndex<IGearPart> getItemIndex() {
+        IngredientIndex<IGearPart> index = itemIndex;
+        if (index == null) {
+            synchronized (MAP) {
+                index = itemIndex;
+                if (index == null) {
+                    index = IngredientIndex.build(MAP.values(), IGearPart::getIngredient);
+                    itemIndex = index;
+                }
             }
         }
+        return index;
+    }
 
-        return null;
+    /**
+     * Discards the item-to-part index. It will be rebuilt on the next lookup. Must be called
+     * whenever part ingredients or item tags change.
+     */
+    public static void invalidateItemIndex() {
+        synchronized (MAP) {
+            itemIndex = null;
+        }
     }
 
     public static void handlePartSyncPacket(SyncGearPartsPacket packet, Supplier<NetworkEvent.Context> context) {
@@ -161,11 +195,41 @@ public final class PartManager implements ResourceManagerReloadListener {
                 part.retainData(oldParts.get(part.getId()));
                 MAP.put(part.getId(), part);
             }
+            itemIndex = null;
+            GearData.invalidateCaches();
             SilentGear.LOGGER.info("Read {} parts from server", MAP.size());
         }
         context.get().setPacketHandled(true);
     }
 
+    /**
+     * Applies part changes sent by the server after a data reload.
+     *
+     * @param changed Parts which were added or changed
+     * @param order   IDs of all parts on the server, in the server's order. Any others were removed.
+     */
+    public static void handleDeltaSync(Collection<IGearPart> changed, List<ResourceLocation> order) {
+        synchronized (MAP) {
+            Map<ResourceLocation, IGearPart> previous = new HashMap<>(MAP);
+            for (IGearPart part : changed) {
+                part.retainData(previous.get(part.getId()));
+                previous.put(part.getId(), part);
+            }
+            // Rebuild in the server's order, so lookups that take the first match agree with it
+            MAP.clear();
+            for (ResourceLocation id : order) {
+                IGearPart part = previous.remove(id);
+                if (part != null) {
+                    MAP.put(id, part);
+                }
+            }
+            itemIndex = null;
+            GearData.invalidateCaches();
+            // Anything left over is no longer on the server
+            SilentGear.LOGGER.info("Updated {} and removed {} parts from server", changed.size(), previous.size());
+        }
+    }
+
     public static Collection<Component> getErrorMessages(ServerPlayer player) {
         if (!ERROR_LIST.isEmpty()) {
             String listStr = String.join(", ", ERROR_LIST);
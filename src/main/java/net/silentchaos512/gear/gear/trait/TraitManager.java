@@ -17,6 +17,7 @@ import net.minecraftforge.network.NetworkEvent;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.traits.ITrait;
 import net.silentchaos512.gear.network.SyncTraitsPacket;
+import net.silentchaos512.gear.util.GearData;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
@@ -79,6 +80,7 @@ public final class TraitManager implements ResourceManagerReloadListener {
             }
         }
 
+        GearData.invalidateCaches();
         SilentGear.LOGGER.info(MARKER, "Registered {} traits", TRAITS.size());
     }
 
@@ -120,11 +122,39 @@ public final class TraitManager implements ResourceManagerReloadListener {
                 trait.retainData(oldTraits.get(trait.getId()));
                 TRAITS.put(trait.getId(), trait);
             }
+            GearData.invalidateCaches();
             SilentGear.LOGGER.info("Read {} traits from server", TRAITS.size());
         }
         context.get().setPacketHandled(true);
     }
 
+    /**
+     * Applies trait changes sent by the server after a data reload.
+     *
+     * @param changed Traits which were added or changed
+     * @param order   IDs of all traits on the server, in the server's order. Any others were removed.
+     */
+    public static void handleDeltaSync(Collection<ITrait> changed, List<ResourceLocation> order) {
+        synchronized (TRAITS) {
+            Map<ResourceLocation, ITrait> previous = new HashMap<>(TRAITS);
+            for (ITrait trait : changed) {
+                trait.retainData(previous.get(trait.getId()));
+                previous.put(trait.getId(), trait);
+            }
+            // Rebuild in the server's order, so lookups that take the first match agree with it
+            TRAITS.clear();
+            for (ResourceLocation id : order) {
+                ITrait trait = previous.remove(id);
+                if (trait != null) {
+                    TRAITS.put(id, trait);
+                }
+            }
+            GearData.invalidateCaches();
+            // Anything left over is no longer on the server
+            SilentGear.LOGGER.info("Updated {} and removed {} traits from server", changed.size(), previous.size());
+        }
+    }
+
     public static Collection<Component> getErrorMessages(ServerPlayer player) {
         if (!ERROR_LIST.isEmpty()) {
             String listStr = ERROR_LIST.stream().map(ResourceLocation::toString).collect(Collectors.joining(", "));
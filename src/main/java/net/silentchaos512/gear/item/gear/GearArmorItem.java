@@ -1,9 +1,8 @@
 package net.silentchaos512.gear.item.gear;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
@@ -16,6 +15,8 @@ import net.minecraft.world.entity.ai.attributes.Attributes;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.*;
 import net.minecraft.world.level.Level;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.loading.FMLEnvironment;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.item.GearType;
 import net.silentchaos512.gear.api.item.ICoreArmor;
@@ -23,12 +24,13 @@ import net.silentchaos512.gear.api.material.IMaterialDisplay;
 import net.silentchaos512.gear.api.material.MaterialLayer;
 import net.silentchaos512.gear.api.part.PartType;
 import net.silentchaos512.gear.api.stats.ItemStats;
-import net.silentchaos512.gear.client.model.ModelErrorLogging;
 import net.silentchaos512.gear.client.util.GearClientHelper;
+import net.silentchaos512.gear.client.util.GearRenderInfo;
 import net.silentchaos512.gear.config.Config;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
 import net.silentchaos512.gear.gear.part.PartData;
 import net.silentchaos512.gear.util.Const;
+import net.silentchaos512.gear.util.GearConstruction;
 import net.silentchaos512.gear.util.GearData;
 import net.silentchaos512.gear.util.GearHelper;
 import net.silentchaos512.gear.util.TraitHelper;
@@ -39,8 +41,6 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 public class GearArmorItem extends DyeableArmorItem implements ICoreArmor {
@@ -49,11 +49,10 @@ public class GearArmorItem extends DyeableArmorItem implements ICoreArmor {
     // sum = 1, starts with boots
     private static final float[] ABSORPTION_RATIO_BY_SLOT = {3f / 20f, 6f / 20f, 8f / 20f, 3f / 20f};
 
-    // Caches armor colors by model key to speed up armor rendering
-    private static final Cache<String, Integer> ARMOR_COLORS = CacheBuilder.newBuilder()
-            .maximumSize(1000)
-            .expireAfterWrite(5, TimeUnit.MINUTES)
-            .build();
+    private static final String[] OVERLAY_TEXTURES = {
+            SilentGear.MOD_ID + ":textures/models/armor/all_layer_1_overlay.png",
+            SilentGear.MOD_ID + ":textures/models/armor/all_layer_2_overlay.png"
+    };
 
     public GearArmorItem(ArmorItem.Type type) {
         super(GearHelper.DEFAULT_DUMMY_ARMOR_MATERIAL, type, GearHelper.getBaseItemProperties());
@@ -188,6 +187,17 @@ public class GearArmorItem extends DyeableArmorItem implements ICoreArmor {
         GearHelper.inventoryTick(stack, worldIn, entityIn, itemSlot, isSelected);
     }
 
+    @Nullable
+    @Override
+    public CompoundTag getShareTag(ItemStack stack) {
+        return GearData.getShareTag(stack);
+    }
+
+    @Override
+    public void readShareTag(ItemStack stack, @Nullable CompoundTag nbt) {
+        GearData.readShareTag(stack, nbt);
+    }
+
     @Override
     public boolean makesPiglinsNeutral(ItemStack stack, LivingEntity wearer) {
         return TraitHelper.hasTrait(stack, Const.Traits.BRILLIANT);
@@ -211,13 +221,29 @@ public class GearArmorItem extends DyeableArmorItem implements ICoreArmor {
         int layer = slot == EquipmentSlot.LEGS ? 2 : 1;
         // Overlay - default to a blank texture
         if ("overlay".equals(type))
-            return SilentGear.MOD_ID + ":textures/models/armor/all_layer_" + layer + "_overlay.png";
+            return OVERLAY_TEXTURES[layer - 1];
+
+        GearConstruction construction = GearData.getConstruction(stack);
+        if (type != null) {
+            // Not a type vanilla uses, so don't bother caching it
+            return getArmorTexture(construction, layer, type);
+        }
 
+        GearRenderInfo renderInfo = GearRenderInfo.get(stack);
+        String texture = renderInfo.getArmorTexture(layer);
+        if (texture == null) {
+            texture = getArmorTexture(construction, layer, null);
+            renderInfo.setArmorTexture(layer, texture);
+        }
+        return texture;
+    }
+
+    private String getArmorTexture(GearConstruction construction, int layer, @Nullable String type) {
         // New material-based armor
-        MaterialInstance material = GearData.getPrimaryArmorMaterial(stack);
+        MaterialInstance material = construction.getPrimaryArmorMaterial();
         if (material != null) {
             IMaterialDisplay materialModel = material.getDisplayProperties();
-            PartType partType = GearData.hasPartOfType(stack, PartType.COATING) ? PartType.COATING : PartType.MAIN;
+            PartType partType = construction.getPartOfType(PartType.COATING) != null ? PartType.COATING : PartType.MAIN;
             MaterialLayer materialLayer = materialModel.getLayerList(this.getGearType(), partType, material).getFirstLayer();
             if (materialLayer != null) {
                 ResourceLocation tex = materialLayer.getTextureId();
@@ -239,13 +265,18 @@ public class GearArmorItem extends DyeableArmorItem implements ICoreArmor {
 
     @Override
     public int getColor(ItemStack stack) {
-        try {
-            return ARMOR_COLORS.get(GearData.getModelKey(stack, 0), () -> getArmorColor(stack));
-        } catch (ExecutionException e) {
-            ModelErrorLogging.notifyOfException(e, "armor model");
-        }
+        // Render caches are client-only. A dedicated server only needs colors for dyeing recipes.
+        return FMLEnvironment.dist == Dist.CLIENT ? getCachedArmorColor(stack) : getArmorColor(stack);
+    }
 
-        return Color.VALUE_WHITE;
+    private static int getCachedArmorColor(ItemStack stack) {
+        GearRenderInfo renderInfo = GearRenderInfo.get(stack);
+        int color = renderInfo.getArmorColor();
+        if (color == -1) {
+            color = getArmorColor(stack);
+            renderInfo.setArmorColor(color);
+        }
+        return color;
     }
 
     private static int getArmorColor(ItemStack stack) {
@@ -5,6 +5,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.color.item.ItemColor;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
@@ -239,6 +240,17 @@ public class GearArrowItem extends ArrowItem implements ICoreItem {
         return GearClientHelper.shouldCauseReequipAnimation(oldStack, newStack, slotChanged);
     }
 
+    @Nullable
+    @Override
+    public CompoundTag getShareTag(ItemStack stack) {
+        return GearData.getShareTag(stack);
+    }
+
+    @Override
+    public void readShareTag(ItemStack stack, @Nullable CompoundTag nbt) {
+        GearData.readShareTag(stack, nbt);
+    }
+
     @Override
     public int getBarWidth(ItemStack stack) {
         return GearHelper.getBarWidth(stack);
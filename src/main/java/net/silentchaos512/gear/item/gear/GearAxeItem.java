@@ -2,6 +2,7 @@ package net.silentchaos512.gear.item.gear;
 
 import com.google.common.collect.Multimap;
 import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.tags.BlockTags;
 import net.minecraft.world.InteractionResult;
@@ -138,6 +139,17 @@ public class GearAxeItem extends AxeItem implements ICoreTool {
         return GearClientHelper.shouldCauseReequipAnimation(oldStack, newStack, slotChanged);
     }
 
+    @Nullable
+    @Override
+    public CompoundTag getShareTag(ItemStack stack) {
+        return GearData.getShareTag(stack);
+    }
+
+    @Override
+    public void readShareTag(ItemStack stack, @Nullable CompoundTag nbt) {
+        GearData.readShareTag(stack, nbt);
+    }
+
     @Override
     public Component getName(ItemStack stack) {
         return GearHelper.getDisplayName(stack);
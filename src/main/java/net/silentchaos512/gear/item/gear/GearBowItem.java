@@ -1,6 +1,7 @@
 package net.silentchaos512.gear.item.gear;
 
 import com.google.common.collect.Multimap;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
@@ -224,6 +225,17 @@ public class GearBowItem extends BowItem implements ICoreRangedWeapon {
         return GearClientHelper.shouldCauseReequipAnimation(oldStack, newStack, slotChanged);
     }
 
+    @Nullable
+    @Override
+    public CompoundTag getShareTag(ItemStack stack) {
+        return GearData.getShareTag(stack);
+    }
+
+    @Override
+    public void readShareTag(ItemStack stack, @Nullable CompoundTag nbt) {
+        GearData.readShareTag(stack, nbt);
+    }
+
     @Override
     public int getBarWidth(ItemStack stack) {
         return GearHelper.getBarWidth(stack);
@@ -439,6 +439,17 @@ public class GearCrossbowItem extends CrossbowItem implements ICoreRangedWeapon
         return GearClientHelper.shouldCauseReequipAnimation(oldStack, newStack, slotChanged);
     }
 
+    @Nullable
+    @Override
+    public CompoundTag getShareTag(ItemStack stack) {
+        return GearData.getShareTag(stack);
+    }
+
+    @Override
+    public void readShareTag(ItemStack stack, @Nullable CompoundTag nbt) {
+        GearData.readShareTag(stack, nbt);
+    }
+
     @Override
     public int getAnimationFrames() {
         return 4;
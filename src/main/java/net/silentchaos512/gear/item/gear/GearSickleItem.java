@@ -2,7 +2,6 @@ package net.silentchaos512.gear.item.gear;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.NonNullList;
-import net.minecraft.network.protocol.game.ClientboundBlockUpdatePacket;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.tags.BlockTags;
@@ -176,9 +175,6 @@ public class GearSickleItem extends GearDiggerItem {
             if (block.onDestroyedByPlayer(state, world, pos, playerMP, false, state.getFluidState())) {
                 block.destroy(world, pos, state);
             }
-            if (!world.isClientSide) {
-                playerMP.connection.send(new ClientboundBlockUpdatePacket(world, pos));
-            }
             return true;
         }
 
@@ -190,8 +186,7 @@ public class GearSickleItem extends GearDiggerItem {
                 block.playerDestroy(world, player, pos, state, null, sickle);
                 block.popExperience((ServerLevel) world, pos, xpDropped);
             }
-
-            playerMP.connection.send(new ClientboundBlockUpdatePacket(world, pos));
+            // The changed section is sent to everyone, the breaker included, at the end of the tick
         } else {
             world.levelEvent(2001, pos, Block.getId(state));
             if (block.onDestroyedByPlayer(state, world, pos, playerMP, true, state.getFluidState())) {
@@ -0,0 +1,235 @@
+package net.silentchaos512.gear.network;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.gear.material.MaterialManager;
+import net.silentchaos512.gear.gear.part.PartManager;
+import net.silentchaos512.gear.gear.trait.TraitManager;
+import net.silentchaos512.gear.util.NbtCache;
+import net.silentchaos512.gear.util.PackedIdTable;
+import net.silentchaos512.gear.util.PackedStatTable;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Sends the stat and ID tables, traits, parts, or materials to the client at login. The data is written with the codec
+ * of the matching sync packet ({@link SyncTraitsPacket}, etc.), deflated, and split into chunks
+ * which fit in a login payload. The compressed data is only built once after each data reload,
+ * and is shared by every player who logs in.
+ */
+public class CompressedSyncPacket extends LoginPacket {
+    private static final int CHUNK_SIZE = 512 * 1024;
+
+    // Compressed data for each type, valid for one data generation
+    private static final Map<Type, Encoded> ENCODED = new EnumMap<>(Type.class);
+    private static int encodedGeneration = -1;
+    // Chunks received so far for each type, on the client
+    private static final Map<Type, ByteArrayOutputStream> RECEIVED = new EnumMap<>(Type.class);
+
+    private final Type type;
+    private final int chunkIndex;
+    private final int chunkCount;
+    private final int uncompressedSize;
+    private final byte[] data;
+
+    private CompressedSyncPacket(Type type, int chunkIndex, int chunkCount, int uncompressedSize, byte[] data) {
+        this.type = type;
+        this.chunkIndex = chunkIndex;
+        this.chunkCount = chunkCount;
+        this.uncompressedSize = uncompressedSize;
+        this.data = data;
+    }
+
+    /**
+     * Creates the login packets for all synced data. The stat and trait tables are sent first,
+     * then traits, then parts, then materials, since each may refer to the ones before it.
+     *
+     * @param isLocal If the connection is local
+     * @return The login packets, with names for logging
+     */
+    public static List<Pair<String, CompressedSyncPacket>> createLoginPackets(boolean isLocal) {
+        List<Pair<String, CompressedSyncPacket>> list = new ArrayList<>();
+        for (Type type : Type.values()) {
+            Encoded encoded = getEncoded(type);
+            for (int i = 0; i < encoded.chunks.length; ++i) {
+                String name = String.format("%s sync %d/%d", type, i + 1, encoded.chunks.length);
+                list.add(Pair.of(name, new CompressedSyncPacket(type, i, encoded.chunks.length, encoded.uncompressedSize, encoded.chunks[i])));
+            }
+        }
+        return list;
+    }
+
+    private static Encoded getEncoded(Type type) {
+        synchronized (ENCODED) {
+            int generation = NbtCache.getGeneration();
+            if (generation != encodedGeneration) {
+                ENCODED.clear();
+                encodedGeneration = generation;
+            }
+            return ENCODED.computeIfAbsent(type, Encoded::of);
+        }
+    }
+
+    public static CompressedSyncPacket fromBytes(FriendlyByteBuf buf) {
+        Type type = buf.readEnum(Type.class);
+        int chunkIndex = buf.readVarInt();
+        int chunkCount = buf.readVarInt();
+        int uncompressedSize = buf.readVarInt();
+        byte[] data = buf.readByteArray();
+        return new CompressedSyncPacket(type, chunkIndex, chunkCount, uncompressedSize, data);
+    }
+
+    public void toBytes(FriendlyByteBuf buf) {
+        buf.writeEnum(this.type);
+        buf.writeVarInt(this.chunkIndex);
+        buf.writeVarInt(this.chunkCount);
+        buf.writeVarInt(this.uncompressedSize);
+        buf.writeByteArray(this.data);
+    }
+
+    public static void handle(CompressedSyncPacket msg, Supplier<NetworkEvent.Context> ctx) {
+        byte[] compressed = null;
+
+        synchronized (RECEIVED) {
+            if (msg.chunkIndex == 0) {
+                RECEIVED.put(msg.type, new ByteArrayOutputStream());
+            }
+
+            ByteArrayOutputStream received = RECEIVED.get(msg.type);
+            if (received == null) {
+                SilentGear.LOGGER.error("Received {} sync chunk {} out of order", msg.type, msg.chunkIndex);
+            } else {
+                received.writeBytes(msg.data);
+                if (msg.chunkIndex == msg.chunkCount - 1) {
+                    RECEIVED.remove(msg.type);
+                    compressed = received.toByteArray();
+                }
+            }
+        }
+
+        if (compressed == null) {
+            // Waiting for more chunks
+            ctx.get().setPacketHandled(true);
+            return;
+        }
+
+        SilentGear.LOGGER.debug("{} sync: {} bytes compressed, {} bytes uncompressed", msg.type, compressed.length, msg.uncompressedSize);
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.wrappedBuffer(inflate(compressed, msg.uncompressedSize)));
+        msg.type.handler.accept(buf, ctx);
+    }
+
+    static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater();
+        deflater.setInput(input);
+        deflater.finish();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(input.length / 4 + 64);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            int count = deflater.deflate(buffer);
+            output.write(buffer, 0, count);
+        }
+        deflater.end();
+        return output.toByteArray();
+    }
+
+    static byte[] inflate(byte[] input, int uncompressedSize) {
+        Inflater inflater = new Inflater();
+        inflater.setInput(input);
+
+        byte[] output = new byte[uncompressedSize];
+        try {
+            int position = 0;
+            while (position < uncompressedSize) {
+                int count = inflater.inflate(output, position, uncompressedSize - position);
+                if (count == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Sync data is shorter than expected (" + position + " of " + uncompressedSize + " bytes)");
+                }
+                position += count;
+            }
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Sync data is corrupt", ex);
+        } finally {
+            inflater.end();
+        }
+        return output;
+    }
+
+    private static final class Encoded {
+        private final int uncompressedSize;
+        private final byte[][] chunks;
+
+        private Encoded(int uncompressedSize, byte[][] chunks) {
+            this.uncompressedSize = uncompressedSize;
+            this.chunks = chunks;
+        }
+
+        private static Encoded of(Type type) {
+            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+            byte[] uncompressed;
+            try {
+                type.writer.accept(buf);
+                uncompressed = new byte[buf.readableBytes()];
+                buf.readBytes(uncompressed);
+            } finally {
+                buf.release();
+            }
+
+            byte[] compressed = deflate(uncompressed);
+            int chunkCount = Math.max(1, (compressed.length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+            byte[][] chunks = new byte[chunkCount][];
+            for (int i = 0; i < chunkCount; ++i) {
+                int start = i * CHUNK_SIZE;
+                int end = Math.min(start + CHUNK_SIZE, compressed.length);
+                chunks[i] = Arrays.copyOfRange(compressed, start, end);
+            }
+
+            SilentGear.LOGGER.debug("Encoded {} sync data: {} bytes, {} compressed", type, uncompressed.length, compressed.length);
+            return new Encoded(uncompressed.length, chunks);
+        }
+    }
+
+    public enum Type {
+        STATS(PackedStatTable::writeLocal,
+                (buf, ctx) -> PackedStatTable.setServerTable(PackedStatTable.read(buf))),
+        TRAIT_TABLE(PackedIdTable.TRAITS::writeLocal, (buf, ctx) -> readIdTable(PackedIdTable.TRAITS, buf, ctx)),
+        PART_TABLE(PackedIdTable.PARTS::writeLocal, (buf, ctx) -> readIdTable(PackedIdTable.PARTS, buf, ctx)),
+        MATERIAL_TABLE(PackedIdTable.MATERIALS::writeLocal, (buf, ctx) -> readIdTable(PackedIdTable.MATERIALS, buf, ctx)),
+        TRAITS(buf -> new SyncTraitsPacket().toBytes(buf),
+                (buf, ctx) -> TraitManager.handleTraitSyncPacket(SyncTraitsPacket.fromBytes(buf), ctx)),
+        PARTS(buf -> new SyncGearPartsPacket().toBytes(buf),
+                (buf, ctx) -> PartManager.handlePartSyncPacket(SyncGearPartsPacket.fromBytes(buf), ctx)),
+        MATERIALS(buf -> new SyncMaterialsPacket().toBytes(buf),
+                (buf, ctx) -> MaterialManager.handleSyncPacket(SyncMaterialsPacket.fromBytes(buf), ctx));
+
+        private final Consumer<FriendlyByteBuf> writer;
+        private final BiConsumer<FriendlyByteBuf, Supplier<NetworkEvent.Context>> handler;
+
+        Type(Consumer<FriendlyByteBuf> writer, BiConsumer<FriendlyByteBuf, Supplier<NetworkEvent.Context>> handler) {
+            this.writer = writer;
+            this.handler = handler;
+        }
+
+        private static void readIdTable(PackedIdTable.Holder holder, FriendlyByteBuf buf, Supplier<NetworkEvent.Context> ctx) {
+            PackedIdTable table = PackedIdTable.read(buf);
+            // The integrated server's own client shares its data, and is not sent delta syncs
+            if (!ctx.get().getNetworkManager().isMemoryConnection()) {
+                holder.setServerTable(table);
+            }
+        }
+    }
+}
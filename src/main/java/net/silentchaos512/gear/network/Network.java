@@ -7,16 +7,13 @@ import net.minecraftforge.network.NetworkRegistry;
 import net.minecraftforge.network.PlayMessages;
 import net.minecraftforge.network.simple.SimpleChannel;
 import net.silentchaos512.gear.SilentGear;
-import net.silentchaos512.gear.gear.material.MaterialManager;
-import net.silentchaos512.gear.gear.part.PartManager;
-import net.silentchaos512.gear.gear.trait.TraitManager;
 import net.silentchaos512.gear.util.MismatchedVersionsException;
 
 import java.util.Objects;
 import java.util.regex.Pattern;
 
 public final class Network {
-    public static final String VERSION = "sgear-net-14";
+    public static final String VERSION = "sgear-net-20";
     private static final Pattern NET_VERSION_PATTERN = Pattern.compile("sgear-net-\\d+$");
     private static final Pattern MOD_VERSION_PATTERN = Pattern.compile("^\\d+\\.\\d+\\.\\d+$");
 
@@ -29,26 +26,7 @@ public final class Network {
                 .networkProtocolVersion(() -> VERSION)
                 .simpleChannel();
 
-        channel.messageBuilder(SyncTraitsPacket.class, 1)
-                .loginIndex(LoginPacket::getLoginIndex, LoginPacket::setLoginIndex)
-                .decoder(SyncTraitsPacket::fromBytes)
-                .encoder(SyncTraitsPacket::toBytes)
-                .markAsLoginPacket()
-                .consumerMainThread(HandshakeHandler.biConsumerFor((hh, msg, ctx) -> {
-                    TraitManager.handleTraitSyncPacket(msg, ctx);
-                    channel.reply(new LoginPacket.Reply(), ctx.get());
-                }))
-                .add();
-        channel.messageBuilder(SyncGearPartsPacket.class, 2)
-                .loginIndex(LoginPacket::getLoginIndex, LoginPacket::setLoginIndex)
-                .decoder(SyncGearPartsPacket::fromBytes)
-                .encoder(SyncGearPartsPacket::toBytes)
-                .markAsLoginPacket()
-                .consumerMainThread(HandshakeHandler.biConsumerFor((hh, msg, ctx) -> {
-                    PartManager.handlePartSyncPacket(msg, ctx);
-                    channel.reply(new LoginPacket.Reply(), ctx.get());
-                }))
-                .add();
+        // 1 was SyncTraitsPacket, 2 was SyncGearPartsPacket (both now sent with CompressedSyncPacket)
         channel.messageBuilder(LoginPacket.Reply.class, 3)
                 .loginIndex(LoginPacket::getLoginIndex, LoginPacket::setLoginIndex)
                 .decoder(buffer -> new LoginPacket.Reply())
@@ -61,16 +39,7 @@ public final class Network {
                 .consumerMainThread(SyncGearCraftingItemsPacket::handle)
                 .add();
         // 5 was ShowPartsScreenPacket
-        channel.messageBuilder(SyncMaterialsPacket.class, 6)
-                .loginIndex(LoginPacket::getLoginIndex, LoginPacket::setLoginIndex)
-                .decoder(SyncMaterialsPacket::fromBytes)
-                .encoder(SyncMaterialsPacket::toBytes)
-                .markAsLoginPacket()
-                .consumerMainThread(HandshakeHandler.biConsumerFor((hh, msg, ctx) -> {
-                    MaterialManager.handleSyncPacket(msg, ctx);
-                    channel.reply(new LoginPacket.Reply(), ctx.get());
-                }))
-                .add();
+        // 6 was SyncMaterialsPacket (now sent with CompressedSyncPacket)
         // uwu
         channel.messageBuilder(PlayMessages.SpawnEntity.class, 7)
                 .encoder(PlayMessages.SpawnEntity::encode)
@@ -122,6 +91,21 @@ public final class Network {
                 .encoder(RecalculateStatsPacket::encode)
                 .consumerMainThread(RecalculateStatsPacket::handle)
                 .add();
+        channel.messageBuilder(CompressedSyncPacket.class, 17)
+                .loginIndex(LoginPacket::getLoginIndex, LoginPacket::setLoginIndex)
+                .decoder(CompressedSyncPacket::fromBytes)
+                .encoder(CompressedSyncPacket::toBytes)
+                .buildLoginPacketList(CompressedSyncPacket::createLoginPackets)
+                .consumerMainThread(HandshakeHandler.biConsumerFor((hh, msg, ctx) -> {
+                    CompressedSyncPacket.handle(msg, ctx);
+                    channel.reply(new LoginPacket.Reply(), ctx.get());
+                }))
+                .add();
+        channel.messageBuilder(SyncDataDeltaPacket.class, 18, NetworkDirection.PLAY_TO_CLIENT)
+                .decoder(SyncDataDeltaPacket::decode)
+                .encoder(SyncDataDeltaPacket::encode)
+                .consumerMainThread(SyncDataDeltaPacket::handle)
+                .add();
     }
 
     private Network() {}
@@ -1,11 +1,13 @@
 package net.silentchaos512.gear.network;
 
+import io.netty.handler.codec.DecoderException;
 import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
+import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.network.NetworkEvent;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.stats.IItemStat;
@@ -14,21 +16,68 @@ import net.silentchaos512.gear.api.stats.ItemStats;
 import net.silentchaos512.gear.util.GearData;
 import net.silentchaos512.gear.util.GearHelper;
 
-import java.util.Objects;
+import java.util.*;
 import java.util.function.Supplier;
 
+/**
+ * Asks the server to recalculate the stats of gear in the player's inventory, when the client finds
+ * a stat missing. Requests are collected for a client tick and sent together. A stack is only
+ * requested once every few seconds, and the server limits how many recalculations each player
+ * can cause per second. Requests over the limit wait on the server for a later tick, since the
+ * client will not ask again. The updated stacks reach the client through normal inventory slot
+ * syncing.
+ */
 public class RecalculateStatsPacket {
-    private final int slot;
-    private final IItemStat triggerStat;
+    // The most slots in one packet, which is more than a player inventory has
+    private static final int MAX_BATCH_SIZE = 64;
+    // How long before the same stack can be requested again
+    private static final int REQUEST_COOLDOWN_TICKS = 100;
+    // The most recalculations each player may cause per second
+    private static final int MAX_RECALCULATIONS_PER_SECOND = 40;
 
-    private RecalculateStatsPacket(int slot, IItemStat triggerStat) {
-        this.slot = slot;
-        this.triggerStat = triggerStat;
+    // Client: requests to send on the next tick, and when each stack may be requested again
+    private static final List<Entry> QUEUED = new ArrayList<>();
+    private static final Map<Object, Integer> REQUESTED = new HashMap<>();
+    private static int clientTicks;
+    // Server: requests which have not been handled yet, and the rate limit of each player
+    private static final Map<ServerPlayer, PlayerRequests> SERVER_REQUESTS = new WeakHashMap<>();
+
+    private final List<Entry> entries;
+
+    private RecalculateStatsPacket(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Queues a request for the server to recalculate the stats of a stack in the client player's
+     * inventory. Does nothing if the stack is not in the inventory, or was requested recently.
+     *
+     * @param level       The client level
+     * @param stack       The gear item
+     * @param triggerStat The stat which was found to be missing
+     */
+    public static void request(Level level, ItemStack stack, IItemStat triggerStat) {
+        int slot = findSlotOnClientPlayer(level, stack);
+        if (slot < 0) {
+            // The server can only find stacks in the player's inventory
+            return;
+        }
+
+        synchronized (QUEUED) {
+            Object key = getRequestKey(stack, slot);
+            Integer requestedUntil = REQUESTED.get(key);
+            if (requestedUntil != null && requestedUntil > clientTicks) {
+                return;
+            }
+
+            REQUESTED.put(key, clientTicks + REQUEST_COOLDOWN_TICKS);
+            QUEUED.add(new Entry(slot, triggerStat));
+        }
     }
 
-    public RecalculateStatsPacket(Level level, ItemStack stack, IItemStat triggerStat) {
-        this.slot = findSlotOnClientPlayer(level, stack);
-        this.triggerStat = triggerStat;
+    private static Object getRequestKey(ItemStack stack, int slot) {
+        UUID uuid = GearData.getUUIDIfPresent(stack);
+        return uuid != null ? uuid : slot;
     }
 
     private static int findSlotOnClientPlayer(Level level, ItemStack stack) {
@@ -41,35 +90,128 @@ public class RecalculateStatsPacket {
         return -1;
     }
 
-    public ItemStack getItem(Supplier<NetworkEvent.Context> context) {
-        ServerPlayer player = context.get().getSender();
+    /**
+     * Sends queued requests. Called at the end of each client tick.
+     *
+     * @param event The event
+     */
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+
+        List<Entry> entries;
+        synchronized (QUEUED) {
+            ++clientTicks;
+            if (!REQUESTED.isEmpty()) {
+                REQUESTED.values().removeIf(requestedUntil -> requestedUntil <= clientTicks);
+            }
+            if (QUEUED.isEmpty()) return;
 
-        if (player != null && this.slot >= 0 && this.slot < player.getInventory().getContainerSize()) {
-            return player.getInventory().getItem(this.slot);
+            entries = new ArrayList<>(QUEUED);
+            QUEUED.clear();
         }
 
-        return ItemStack.EMPTY;
+        if (!SilentGear.PROXY.checkClientConnection()) return;
+
+        for (int i = 0; i < entries.size(); i += MAX_BATCH_SIZE) {
+            List<Entry> batch = entries.subList(i, Math.min(i + MAX_BATCH_SIZE, entries.size()));
+            SilentGear.LOGGER.debug("Sending recalculate stats packet for {} slot(s)", batch.size());
+            Network.channel.sendToServer(new RecalculateStatsPacket(new ArrayList<>(batch)));
+        }
     }
 
     public void handle(Supplier<NetworkEvent.Context> context) {
-        ItemStack stack = getItem(context);
+        ServerPlayer player = context.get().getSender();
+        if (player == null) return;
+
+        PlayerRequests requests = SERVER_REQUESTS.computeIfAbsent(player, p -> new PlayerRequests());
+        for (Entry entry : this.entries) {
+            if (entry.slot >= 0 && entry.slot < player.getInventory().getContainerSize()) {
+                requests.add(entry);
+            }
+        }
+        requests.process(player);
+    }
 
-        if (GearHelper.isGear(stack)) {
-            GearData.recalculateStats(stack, context.get().getSender());
+    /**
+     * Handles requests which were over the rate limit when they were received. Called at the end
+     * of each player tick.
+     *
+     * @param event The event
+     */
+    public static void onPlayerTick(TickEvent.PlayerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || !(event.player instanceof ServerPlayer player)) return;
 
-            // Also ensure the stat that triggered the recalculation is in the stat map
-            GearData.putStatInNbtIfMissing(stack, this.triggerStat);
+        PlayerRequests requests = SERVER_REQUESTS.get(player);
+        if (requests != null && requests.hasPending()) {
+            requests.process(player);
         }
     }
 
     public static RecalculateStatsPacket decode(FriendlyByteBuf buffer) {
-        int slot = buffer.readVarInt();
-        ItemStat stat = ItemStats.byName(buffer.readResourceLocation());
-        return new RecalculateStatsPacket(slot, Objects.requireNonNull(stat));
+        int count = buffer.readVarInt();
+        if (count > MAX_BATCH_SIZE) {
+            throw new DecoderException("Too many slots in recalculate stats packet: " + count);
+        }
+
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            int slot = buffer.readVarInt();
+            ItemStat stat = ItemStats.byName(buffer.readResourceLocation());
+            entries.add(new Entry(slot, Objects.requireNonNull(stat)));
+        }
+        return new RecalculateStatsPacket(entries);
     }
 
     public void encode(FriendlyByteBuf buffer) {
-        buffer.writeVarInt(this.slot);
-        buffer.writeResourceLocation(this.triggerStat.getStatId());
+        buffer.writeVarInt(this.entries.size());
+        for (Entry entry : this.entries) {
+            buffer.writeVarInt(entry.slot);
+            buffer.writeResourceLocation(entry.stat.getStatId());
+        }
+    }
+
+    private record Entry(int slot, IItemStat stat) {}
+
+    private static final class PlayerRequests {
+        // Stats to check in each slot, keyed by slot so a slot is only recalculated once
+        private final Map<Integer, Set<IItemStat>> pending = new LinkedHashMap<>();
+        private long second = Long.MIN_VALUE;
+        private int count;
+
+        void add(Entry entry) {
+            this.pending.computeIfAbsent(entry.slot, slot -> new HashSet<>()).add(entry.stat);
+        }
+
+        boolean hasPending() {
+            return !this.pending.isEmpty();
+        }
+
+        void process(ServerPlayer player) {
+            long gameTime = player.level().getGameTime();
+            Iterator<Map.Entry<Integer, Set<IItemStat>>> iterator = this.pending.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Integer, Set<IItemStat>> entry = iterator.next();
+                ItemStack stack = player.getInventory().getItem(entry.getKey());
+                if (GearHelper.isGear(stack)) {
+                    if (!tryAcquire(gameTime)) {
+                        // Leave the rest for a later tick
+                        return;
+                    }
+                    GearData.recalculateStats(stack, player);
+                    // Also ensure the stats that triggered the recalculation are in the stat map
+                    entry.getValue().forEach(stat -> GearData.putStatInNbtIfMissing(stack, stat));
+                }
+                iterator.remove();
+            }
+        }
+
+        private boolean tryAcquire(long gameTime) {
+            long currentSecond = gameTime / 20;
+            if (currentSecond != this.second) {
+                this.second = currentSecond;
+                this.count = 0;
+            }
+            return this.count++ < MAX_RECALCULATIONS_PER_SECOND;
+        }
     }
 }
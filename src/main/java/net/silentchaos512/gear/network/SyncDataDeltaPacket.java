@@ -0,0 +1,270 @@
+package net.silentchaos512.gear.network;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.event.OnDatapackSyncEvent;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.NetworkEvent;
+import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.api.material.IMaterial;
+import net.silentchaos512.gear.api.part.IGearPart;
+import net.silentchaos512.gear.api.traits.ITrait;
+import net.silentchaos512.gear.client.event.TooltipHandler;
+import net.silentchaos512.gear.gear.material.MaterialManager;
+import net.silentchaos512.gear.gear.material.MaterialSerializers;
+import net.silentchaos512.gear.gear.part.PartManager;
+import net.silentchaos512.gear.gear.part.PartSerializers;
+import net.silentchaos512.gear.gear.trait.TraitManager;
+import net.silentchaos512.gear.gear.trait.TraitSerializers;
+import net.silentchaos512.gear.util.PackedIdTable;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Sends the traits, parts, and materials which were added, changed, or removed by a data reload
+ * to every connected player. Players otherwise only receive data when they log in.
+ * <p>
+ * The server remembers a content hash of every entry it last sent. After a reload, only entries
+ * whose hash changed are sent, all in one packet. The IDs of all entries are sent too, so players
+ * can drop removed entries and keep the rest in the same order as the server.
+ */
+public class SyncDataDeltaPacket {
+    // Stay under the vanilla limit for custom payloads
+    private static final int MAX_SIZE = 1_000_000;
+
+    private static final List<Section<?>> SECTIONS = ImmutableList.of(
+            new Section<ITrait>("traits", TraitManager::getValues, ITrait::getId, TraitSerializers::write, TraitSerializers::read, SyncDataDeltaPacket::handleTraits),
+            new Section<IGearPart>("parts", PartManager::getValues, IGearPart::getId, PartSerializers::write, PartSerializers::read, SyncDataDeltaPacket::handleParts),
+            new Section<IMaterial>("materials", MaterialManager::getValues, IMaterial::getId, MaterialSerializers::write, MaterialSerializers::read, SyncDataDeltaPacket::handleMaterials)
+    );
+
+    private final int uncompressedSize;
+    private final byte[] data;
+
+    private SyncDataDeltaPacket(int uncompressedSize, byte[] data) {
+        this.uncompressedSize = uncompressedSize;
+        this.data = data;
+    }
+
+    /**
+     * Called when data is synced to players, which happens on login and after data reloads. After
+     * a reload, players are sent the changes since the previous sync.
+     *
+     * @param event The event
+     */
+    public static synchronized void onDatapackSync(OnDatapackSyncEvent event) {
+        boolean reload = event.getPlayer() == null;
+        FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+        try {
+            boolean changed = false;
+            for (Section<?> section : SECTIONS) {
+                changed |= section.update(reload, buffer);
+            }
+            if (!changed) {
+                SECTIONS.forEach(Section::commit);
+                return;
+            }
+
+            byte[] uncompressed = new byte[buffer.readableBytes()];
+            buffer.readBytes(uncompressed);
+            SyncDataDeltaPacket packet = new SyncDataDeltaPacket(uncompressed.length, CompressedSyncPacket.deflate(uncompressed));
+            if (packet.data.length > MAX_SIZE) {
+                SilentGear.LOGGER.warn("Changes to Silent Gear data are too large to send ({} bytes). Players must reconnect to see them.", packet.data.length);
+                // Players now have data that matches neither the old nor the new hashes, so start
+                // over from whatever the next reload produces
+                clearSyncedState();
+                return;
+            }
+
+            SilentGear.LOGGER.debug("Sending Silent Gear data changes: {} bytes, {} compressed", uncompressed.length, packet.data.length);
+            for (ServerPlayer player : event.getPlayerList().getPlayers()) {
+                // Integrated server shares data with its own client
+                if (!player.connection.connection.isMemoryConnection()) {
+                    Network.channel.sendTo(packet, player.connection.connection, NetworkDirection.PLAY_TO_CLIENT);
+                }
+            }
+            SECTIONS.forEach(Section::commit);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Forgets what was last sent, so the next server starts fresh.
+     */
+    public static synchronized void clearSyncedState() {
+        SECTIONS.forEach(section -> {
+            section.synced = null;
+            section.pending = null;
+        });
+    }
+
+    public static SyncDataDeltaPacket decode(FriendlyByteBuf buffer) {
+        int uncompressedSize = buffer.readVarInt();
+        byte[] data = buffer.readByteArray();
+        return new SyncDataDeltaPacket(uncompressedSize, data);
+    }
+
+    public void encode(FriendlyByteBuf buffer) {
+        buffer.writeVarInt(this.uncompressedSize);
+        buffer.writeByteArray(this.data);
+    }
+
+    public static void handle(SyncDataDeltaPacket msg, Supplier<NetworkEvent.Context> ctx) {
+        FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.wrappedBuffer(CompressedSyncPacket.inflate(msg.data, msg.uncompressedSize)));
+        // Sections are read in order, since materials may refer to traits, etc.
+        for (Section<?> section : SECTIONS) {
+            section.read(buffer);
+        }
+        DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> TooltipHandler::onDataSynced);
+        ctx.get().setPacketHandled(true);
+    }
+
+    private static void handleTraits(Collection<ITrait> changed, List<ResourceLocation> order) {
+        TraitManager.handleDeltaSync(changed, order);
+        // Share tags from now on pack IDs with the server's new tables
+        PackedIdTable.TRAITS.setServerTable(PackedIdTable.of(order));
+    }
+
+    private static void handleParts(Collection<IGearPart> changed, List<ResourceLocation> order) {
+        PartManager.handleDeltaSync(changed, order);
+        PackedIdTable.PARTS.setServerTable(PackedIdTable.of(order));
+    }
+
+    private static void handleMaterials(Collection<IMaterial> changed, List<ResourceLocation> order) {
+        MaterialManager.handleDeltaSync(changed, order);
+        PackedIdTable.MATERIALS.setServerTable(PackedIdTable.of(order));
+    }
+
+    private static final class Section<T> {
+        private final String name;
+        private final Supplier<Collection<T>> values;
+        private final Function<T, ResourceLocation> idGetter;
+        private final BiConsumer<T, FriendlyByteBuf> writer;
+        private final Function<FriendlyByteBuf, T> reader;
+        private final BiConsumer<Collection<T>, List<ResourceLocation>> handler;
+        // Content hashes of what players currently have, or null if nothing has been synced yet
+        @Nullable private Map<ResourceLocation, Long> synced;
+        // Hashes from the last update, which become the synced hashes once they have been sent
+        @Nullable private Map<ResourceLocation, Long> pending;
+
+        private Section(String name,
+                        Supplier<Collection<T>> values,
+                        Function<T, ResourceLocation> idGetter,
+                        BiConsumer<T, FriendlyByteBuf> writer,
+                        Function<FriendlyByteBuf, T> reader,
+                        BiConsumer<Collection<T>, List<ResourceLocation>> handler) {
+            this.name = name;
+            this.values = values;
+            this.idGetter = idGetter;
+            this.writer = writer;
+            this.reader = reader;
+            this.handler = handler;
+        }
+
+        /**
+         * Computes the current hashes, writing the differences to the buffer if this is a reload.
+         * The hashes are not used for the next update until {@link #commit()} is called.
+         *
+         * @return True if there are changes to send
+         */
+        private boolean update(boolean reload, FriendlyByteBuf buffer) {
+            if (!reload && this.synced != null) {
+                // Joining player gets everything at login, and the hashes are already up to date
+                return false;
+            }
+
+            Map<ResourceLocation, Long> current = new LinkedHashMap<>();
+            List<byte[]> changed = new ArrayList<>();
+            FriendlyByteBuf entryBuffer = new FriendlyByteBuf(Unpooled.buffer());
+            try {
+                for (T value : new ArrayList<>(this.values.get())) {
+                    entryBuffer.clear();
+                    this.writer.accept(value, entryBuffer);
+                    byte[] bytes = new byte[entryBuffer.readableBytes()];
+                    entryBuffer.readBytes(bytes);
+
+                    ResourceLocation id = this.idGetter.apply(value);
+                    long hash = Hashing.murmur3_128().hashBytes(bytes).asLong();
+                    current.put(id, hash);
+                    if (this.synced != null && !Objects.equals(this.synced.get(id), hash)) {
+                        changed.add(bytes);
+                    }
+                }
+            } finally {
+                entryBuffer.release();
+            }
+
+            Map<ResourceLocation, Long> previous = this.synced;
+            this.pending = current;
+            if (!reload) {
+                // First player to join, so nobody has older data
+                return false;
+            }
+
+            int removedCount = 0;
+            if (previous != null) {
+                for (ResourceLocation id : previous.keySet()) {
+                    if (!current.containsKey(id)) {
+                        ++removedCount;
+                    }
+                }
+            }
+            // Reloads can also move entries without changing them, which matters for first-match lookups
+            boolean reordered = previous != null && !new ArrayList<>(previous.keySet()).equals(new ArrayList<>(current.keySet()));
+
+            if (!reordered && changed.isEmpty()) {
+                buffer.writeBoolean(false);
+                return false;
+            }
+
+            SilentGear.LOGGER.debug("Syncing {} changed and {} removed {}", changed.size(), removedCount, this.name);
+            buffer.writeBoolean(true);
+            buffer.writeVarInt(changed.size());
+            changed.forEach(buffer::writeBytes);
+            buffer.writeVarInt(current.size());
+            current.keySet().forEach(buffer::writeResourceLocation);
+            return true;
+        }
+
+        /**
+         * Marks the hashes from the last update as what players have.
+         */
+        private void commit() {
+            if (this.pending != null) {
+                this.synced = this.pending;
+                this.pending = null;
+            }
+        }
+
+        private void read(FriendlyByteBuf buffer) {
+            if (!buffer.readBoolean()) {
+                return;
+            }
+
+            List<T> changed = new ArrayList<>();
+            int changedCount = buffer.readVarInt();
+            for (int i = 0; i < changedCount; ++i) {
+                changed.add(this.reader.apply(buffer));
+            }
+
+            List<ResourceLocation> order = new ArrayList<>();
+            int count = buffer.readVarInt();
+            for (int i = 0; i < count; ++i) {
+                order.add(buffer.readResourceLocation());
+            }
+
+            this.handler.accept(changed, order);
+        }
+    }
+}
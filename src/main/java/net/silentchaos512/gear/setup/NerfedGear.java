@@ -4,17 +4,26 @@ import com.google.common.collect.ImmutableList;
 import net.minecraft.util.Mth;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.DistExecutor;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.config.ModConfig;
+import net.minecraftforge.fml.event.config.ModConfigEvent;
 import net.minecraftforge.fml.util.ObfuscationReflectionHelper;
 import net.minecraftforge.registries.ForgeRegistries;
 import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.client.event.TooltipHandler;
 import net.silentchaos512.gear.config.Config;
 import net.silentchaos512.lib.util.NameUtils;
 
+import javax.annotation.Nullable;
 import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Mod.EventBusSubscriber(modid = SilentGear.MOD_ID)
 public final class NerfedGear {
@@ -26,9 +35,15 @@ public final class NerfedGear {
             "diamond_sword", "iron_sword", "golden_sword", "stone_sword", "wooden_sword"
     );
 
+    // Nerfed items and how they are nerfed, so hot paths do not need to consult configs
+    private static volatile Map<Item, NerfInfo> nerfedItems = Collections.emptyMap();
+
     private NerfedGear() {}
 
     public static void init() {
+        // The harvest speed nerf and tooltips only need the map, so build it even if durability can't be changed
+        rebuildNerfedItems();
+
         Field maxDamageField;
         try {
             maxDamageField = ObfuscationReflectionHelper.findField(Item.class, "f_41371_");
@@ -39,30 +54,73 @@ public final class NerfedGear {
             return;
         }
 
-        for (Item item : ForgeRegistries.ITEMS) {
-            if (isNerfedItem(item)) {
-                SilentGear.LOGGER.debug("Try nerf durability of {}", NameUtils.fromItem(item));
-                try {
-                    int maxDamage = (int) maxDamageField.get(item);
-                    int newMax = Mth.clamp((int) (maxDamage * Config.Common.nerfedItemDurabilityMulti.get()), 1, maxDamage);
-                    maxDamageField.set(item, newMax);
-                } catch (IllegalAccessException e) {
-                    e.printStackTrace();
+        for (Item item : nerfedItems.keySet()) {
+            SilentGear.LOGGER.debug("Try nerf durability of {}", NameUtils.fromItem(item));
+            try {
+                int maxDamage = (int) maxDamageField.get(item);
+                int newMax = Mth.clamp((int) (maxDamage * Config.Common.nerfedItemDurabilityMulti.get()), 1, maxDamage);
+                maxDamageField.set(item, newMax);
+            } catch (IllegalAccessException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static void rebuildNerfedItems() {
+        rebuildNerfedItems(ForgeRegistries.ITEMS);
+    }
+
+    // Package-private so the benchmark can build the map from a few vanilla items
+    static void rebuildNerfedItems(Iterable<Item> items) {
+        Map<Item, NerfInfo> map = new IdentityHashMap<>();
+        if (Config.Common.nerfedItemsEnabled.get()) {
+            NerfInfo info = new NerfInfo(Config.Common.nerfedItemHarvestSpeedMulti.get().floatValue());
+            for (Item item : items) {
+                if (item.canBeDepleted() && Config.Common.isNerfedItem(item)) {
+                    map.put(item, info);
                 }
             }
         }
+        nerfedItems = map;
     }
 
-    private static boolean isNerfedItem(Item item) {
-        return item.canBeDepleted() && Config.Common.isNerfedItem(item);
+    /**
+     * Gets the nerf applied to the item, if any.
+     *
+     * @param item The item
+     * @return The nerf info, or null if the item is not nerfed
+     */
+    @Nullable
+    public static NerfInfo getNerfInfo(Item item) {
+        return nerfedItems.get(item);
+    }
+
+    public static boolean isNerfedItem(Item item) {
+        return nerfedItems.containsKey(item);
+    }
+
+    public static void onConfigReloading(ModConfigEvent.Reloading event) {
+        if (!event.getConfig().getModId().equals(SilentGear.MOD_ID)) return;
+
+        if (event.getConfig().getType() == ModConfig.Type.COMMON) {
+            // Durability changes still require a restart, but the harvest speed nerf and tooltips
+            // will follow the new config
+            rebuildNerfedItems();
+        }
+        // Tooltip flags are classified from the nerf map, so they can only be cleared once it has
+        // been rebuilt. Clearing them from a separate listener could run first and re-cache stale flags.
+        DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> TooltipHandler::onConfigReloaded);
     }
 
     @SubscribeEvent
     public static void onBreakSpeed(PlayerEvent.BreakSpeed event) {
         ItemStack heldItem = event.getEntity().getMainHandItem();
-        if (isNerfedItem(heldItem.getItem())) {
-            float newSpeed = event.getNewSpeed() * Config.Common.nerfedItemHarvestSpeedMulti.get().floatValue();
+        NerfInfo nerfInfo = getNerfInfo(heldItem.getItem());
+        if (nerfInfo != null) {
+            float newSpeed = event.getNewSpeed() * nerfInfo.harvestSpeedMultiplier();
             event.setNewSpeed(Math.max(newSpeed, 1));
         }
     }
+
+    public record NerfInfo(float harvestSpeedMultiplier) {}
 }
@@ -0,0 +1,65 @@
+package net.silentchaos512.gear.util;
+
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.eventbus.ListenerList;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventListenerHelper;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.silentchaos512.gear.SilentGear;
+
+import java.util.function.Consumer;
+
+public final class EventHelper {
+    // ID of the Forge event bus, or -1 if it could not be found
+    private static final int FORGE_BUS_ID = findBusId();
+
+    private EventHelper() {throw new IllegalAccessError("Utility class");}
+
+    /**
+     * Finds the ID of the Forge event bus. Listener lists are indexed by bus ID, and the bus does
+     * not expose it, so briefly register a listener for {@link ProbeEvent} and find the one bus
+     * that has it. The listener is removed again before this returns.
+     */
+    private static int findBusId() {
+        Consumer<ProbeEvent> probe = event -> {};
+        MinecraftForge.EVENT_BUS.addListener(EventPriority.NORMAL, false, ProbeEvent.class, probe);
+        try {
+            ListenerList listeners = EventListenerHelper.getListenerList(ProbeEvent.class);
+            // The list has a slot for every bus, and the Forge bus is one of them, so this always
+            // finds it before running off the end
+            for (int id = 0; ; ++id) {
+                if (listeners.getListeners(id).length > 0) {
+                    return id;
+                }
+            }
+        } catch (RuntimeException ex) {
+            SilentGear.LOGGER.catching(ex);
+        } finally {
+            MinecraftForge.EVENT_BUS.unregister(probe);
+        }
+        SilentGear.LOGGER.error("Failed to find Forge event bus ID, stat events will always be posted");
+        return -1;
+    }
+
+    /**
+     * Check if anything is listening for events of the given class on the Forge event bus. Used to
+     * avoid creating and posting events on hot paths when nothing would receive them. If the
+     * listeners can't be checked, this assumes there are some.
+     *
+     * @param eventClass The event class
+     * @return True if the event has at least one listener on {@link MinecraftForge#EVENT_BUS}
+     */
+    public static boolean hasListeners(Class<? extends Event> eventClass) {
+        if (FORGE_BUS_ID < 0) return true;
+        return EventListenerHelper.getListenerList(eventClass).getListeners(FORGE_BUS_ID).length > 0;
+    }
+
+    /**
+     * Exists only so {@link #findBusId()} has an event that nothing else listens to, and is never
+     * posted. The constructor is public because the event bus creates an instance to get the
+     * listener list.
+     */
+    private static final class ProbeEvent extends Event {
+        public ProbeEvent() {}
+    }
+}
@@ -0,0 +1,128 @@
+package net.silentchaos512.gear.util;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.silentchaos512.gear.api.part.PartType;
+import net.silentchaos512.gear.gear.material.MaterialInstance;
+import net.silentchaos512.gear.gear.part.CompoundPart;
+import net.silentchaos512.gear.gear.part.PartData;
+import net.silentchaos512.gear.item.CompoundPartItem;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The decoded construction parts of a gear item. Instances are immutable and shared between
+ * callers, so the parts must not be modified. Use {@link GearData#getConstruction} to get the
+ * cached instance for a gear item.
+ */
+public final class GearConstruction {
+    public static final GearConstruction EMPTY = new GearConstruction(ImmutableList.of());
+
+    private final List<PartData> parts;
+    private final Map<PartType, PartData> firstPartOfType = new HashMap<>();
+    @Nullable private final MaterialInstance primaryMainMaterial;
+    @Nullable private final MaterialInstance primaryArmorMaterial;
+    // Hash of the part model keys, computed on first use since only the client needs it
+    private volatile long modelHash;
+
+    private GearConstruction(List<PartData> parts) {
+        this.parts = parts;
+        for (PartData part : parts) {
+            this.firstPartOfType.putIfAbsent(part.getType(), part);
+        }
+
+        this.primaryMainMaterial = getPrimaryMaterial(getPartOfType(PartType.MAIN));
+        MaterialInstance coatingMaterial = getPrimaryMaterial(getPartOfType(PartType.COATING));
+        this.primaryArmorMaterial = coatingMaterial != null ? coatingMaterial : this.primaryMainMaterial;
+    }
+
+    static GearConstruction read(ListTag tagList) {
+        if (tagList.isEmpty()) return EMPTY;
+
+        ImmutableList.Builder<PartData> builder = ImmutableList.builder();
+        for (Tag nbt : tagList) {
+            if (nbt instanceof CompoundTag) {
+                PartData part = PartData.read((CompoundTag) nbt);
+                if (part != null) {
+                    builder.add(part);
+                }
+            }
+        }
+        return new GearConstruction(builder.build());
+    }
+
+    @Nullable
+    private static MaterialInstance getPrimaryMaterial(@Nullable PartData part) {
+        if (part != null && part.get() instanceof CompoundPart) {
+            return CompoundPartItem.getPrimaryMaterial(part.getItem());
+        }
+        return null;
+    }
+
+    /**
+     * Gets all construction parts, in the order they are stored.
+     *
+     * @return Immutable list of parts
+     */
+    public List<PartData> getParts() {
+        return parts;
+    }
+
+    public boolean isEmpty() {
+        return parts.isEmpty();
+    }
+
+    /**
+     * Gets a 64-bit hash of the model keys of all parts. Constructions which render the same way
+     * have the same hash, so this can be used to key client-side render caches.
+     *
+     * @return The model hash
+     */
+    public long getModelHash() {
+        long hash = modelHash;
+        if (hash == 0) {
+            // FNV-1a
+            hash = 0xcbf29ce484222325L;
+            for (PartData part : parts) {
+                String key = part.getModelKey();
+                for (int i = 0; i < key.length(); ++i) {
+                    hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+                }
+                hash = (hash ^ ',') * 0x100000001b3L;
+            }
+            modelHash = hash;
+        }
+        return hash;
+    }
+
+    @Nullable
+    public PartData getPartOfType(PartType type) {
+        return firstPartOfType.get(type);
+    }
+
+    @Nullable
+    public PartData getPrimaryPart() {
+        return getPartOfType(PartType.MAIN);
+    }
+
+    @Nullable
+    public PartData getCoatingOrMainPart() {
+        PartData coating = getPartOfType(PartType.COATING);
+        return coating != null ? coating : getPartOfType(PartType.MAIN);
+    }
+
+    @Nullable
+    public MaterialInstance getPrimaryMainMaterial() {
+        return primaryMainMaterial;
+    }
+
+    @Nullable
+    public MaterialInstance getPrimaryArmorMaterial() {
+        return primaryArmorMaterial;
+    }
+}
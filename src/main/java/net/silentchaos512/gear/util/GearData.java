@@ -1,21 +1,33 @@
 package net.silentchaos512.gear.util;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.netty.buffer.Unpooled;
 import net.minecraft.CrashReport;
 import net.minecraft.CrashReportCategory;
 import net.minecraft.ReportedException;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.FloatTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.entity.player.PlayerEvent.PlayerLoggedInEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.DistExecutor;
 import net.minecraftforge.fml.ModList;
 import net.minecraftforge.fml.common.Mod;
 import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.api.event.GetMaterialStatsEvent;
+import net.silentchaos512.gear.api.event.GetPartStatsEvent;
+import net.silentchaos512.gear.api.event.GetStatModifierEvent;
 import net.silentchaos512.gear.api.item.GearType;
 import net.silentchaos512.gear.api.item.ICoreItem;
 import net.silentchaos512.gear.api.material.IMaterialDisplay;
@@ -30,15 +42,12 @@ import net.silentchaos512.gear.api.traits.ITrait;
 import net.silentchaos512.gear.api.traits.TraitActionContext;
 import net.silentchaos512.gear.api.util.DataResource;
 import net.silentchaos512.gear.api.util.StatGearKey;
+import net.silentchaos512.gear.client.util.GearRenderInfo;
 import net.silentchaos512.gear.compat.curios.CuriosCompat;
 import net.silentchaos512.gear.config.Config;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
-import net.silentchaos512.gear.gear.part.CompoundPart;
 import net.silentchaos512.gear.gear.part.PartData;
-import net.silentchaos512.gear.gear.part.PartManager;
 import net.silentchaos512.gear.gear.trait.EnchantmentTrait;
-import net.silentchaos512.gear.item.CompoundPartItem;
-import net.silentchaos512.gear.network.Network;
 import net.silentchaos512.gear.network.RecalculateStatsPacket;
 import net.silentchaos512.lib.collection.StackList;
 import net.silentchaos512.lib.util.NameUtils;
@@ -71,6 +80,29 @@ public final class GearData {
     private static final String NBT_BROKEN_COUNT = "BrokenCount";
     private static final String NBT_REPAIR_COUNT = "RepairCount";
     private static final String NBT_STATS = "Stats";
+    private static final String NBT_PACKED_STATS = "PackedStats";
+    private static final String NBT_TRAITS = "Traits";
+    private static final String NBT_TRAIT_NAME = "Name";
+    private static final String NBT_TRAIT_LEVEL = "Level";
+    private static final String NBT_PACKED_TRAITS = "PackedTraits";
+    private static final String NBT_PACKED_PARTS = "PackedParts";
+    // Keys of the part and material entries in the construction, see PartData and MaterialInstance
+    private static final String NBT_PART_ITEM = "Item";
+    private static final String NBT_MATERIALS = "Materials";
+    private static final String NBT_MATERIAL_ID = "ID";
+    private static final String NBT_MATERIAL_ITEM = "Item";
+    private static final String NBT_MATERIAL_COUNT = "Count";
+    private static final String NBT_ITEM_TAG = "tag";
+
+    private static final NbtCache<ListTag, GearConstruction> CONSTRUCTION_CACHE = new NbtCache<>(GearConstruction::read);
+    private static final NbtCache<CompoundTag, StatVector> STAT_CACHE = new NbtCache<>(StatVector::read);
+    private static boolean statTableMismatchLogged = false;
+    private static boolean traitTableMismatchLogged = false;
+    private static boolean partTableMismatchLogged = false;
+    // Pre-trait stat calculations, shared by all gear with the same item and construction
+    private static final Cache<CalculationKey, StatCalculation> CALCULATION_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .build();
 
     private GearData() {
         throw new IllegalAccessError("Utility class");
@@ -121,6 +153,7 @@ public final class GearData {
         });
 
         ICoreItem item = (ICoreItem) gear.getItem();
+        invalidateConstruction(gear);
         PartDataList parts = getConstructionParts(gear);
 
         CompoundTag propertiesCompound = getData(gear, NBT_ROOT_PROPERTIES);
@@ -142,7 +175,8 @@ public final class GearData {
             Map<ITrait, Integer> traits = TraitHelper.getTraits(gear, item.getGearType(), parts);
 
             // Get all stat modifiers from all parts and item class modifiers
-            StatModifierMap stats = getStatModifiers(gear, item, parts);
+            StatCalculation calculation = getStatCalculation(gear, item, parts);
+            StatModifierMap stats = calculation.modifiers;
 
             // For debugging
             Map<ItemStat, Float> oldStatValues = getCurrentStatsForDebugging(gear);
@@ -150,7 +184,7 @@ public final class GearData {
             // Cache traits in properties compound as well
             ListTag traitList = new ListTag();
             traits.forEach((trait, level) -> traitList.add(trait.write(level)));
-            propertiesCompound.put("Traits", traitList);
+            propertiesCompound.put(NBT_TRAITS, traitList);
 
             propertiesCompound.remove(NBT_SYNERGY);
 
@@ -160,10 +194,7 @@ public final class GearData {
             CompoundTag statsCompound = new CompoundTag();
             for (ItemStat stat : ItemStats.allStatsOrderedExcluding(item.getExcludedStats(gear))) {
                 StatGearKey key = StatGearKey.of(stat, item.getGearType());
-                Collection<StatInstance> modifiers = stats.get(key);
-                GearType statGearType = stats.getMostSpecificKey(key).getGearType();
-
-                final float initialValue = stat.compute(stat.getBaseValue(), true, item.getGearType(), statGearType, modifiers);
+                final float initialValue = calculation.initialValues[stat.getOrdinal()];
                 // Allow traits to modify stat
                 final float withTraits = TraitHelper.activateTraits(gear, initialValue, (trait, level, val) -> {
                     TraitActionContext context = new TraitActionContext(player, level, gear);
@@ -280,22 +311,87 @@ public final class GearData {
         stack.getOrCreateTagElement(NBT_ROOT).remove("ModelKeys");
     }
 
-    public static StatModifierMap getStatModifiers(ItemStack stack, ICoreItem item, PartDataList parts) {
-        GearType gearType = item.getGearType();
-        StatModifierMap stats = new StatModifierMap();
+    /**
+     * Gets the stat modifiers and stat values (before traits) for the gear. These depend only on
+     * the item and its construction, so results are shared between all stacks with identical
+     * parts. Stat events can see the gear stack, so nothing is shared while they have listeners.
+     */
+    private static StatCalculation getStatCalculation(ItemStack gear, ICoreItem item, PartDataList parts) {
+        CompoundTag construction = getData(gear, NBT_ROOT_CONSTRUCTION);
+        if (!construction.contains(NBT_CONSTRUCTION_PARTS, Tag.TAG_LIST) || hasStatEventListeners()) {
+            return StatCalculation.compute(gear, item, parts);
+        }
+
+        CalculationKey key = new CalculationKey(gear.getItem(), construction.getList(NBT_CONSTRUCTION_PARTS, Tag.TAG_COMPOUND).copy());
+        StatCalculation calculation = CALCULATION_CACHE.getIfPresent(key);
+        if (calculation == null) {
+            calculation = StatCalculation.compute(gear, item, parts);
+            CALCULATION_CACHE.put(key, calculation);
+        }
+        return calculation;
+    }
+
+    private static boolean hasStatEventListeners() {
+        return EventHelper.hasListeners(GetStatModifierEvent.class)
+                || EventHelper.hasListeners(GetMaterialStatsEvent.class)
+                || EventHelper.hasListeners(GetPartStatsEvent.class);
+    }
 
-        for (ItemStat stat : ItemStats.allStatsOrderedExcluding(item.getExcludedStats(stack))) {
-            StatGearKey itemKey = StatGearKey.of(stat, gearType);
+    /**
+     * Invalidates all cached data derived from materials, parts, and traits. Call this when any of
+     * them are reloaded or synced.
+     */
+    public static void invalidateCaches() {
+        NbtCache.invalidateAll();
+        CALCULATION_CACHE.invalidateAll();
+        DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> GearRenderInfo::clearCache);
+    }
+
+    public static StatModifierMap getStatModifiers(ItemStack stack, ICoreItem item, PartDataList parts) {
+        return SynergyUtils.withSynergyCache(() -> {
+            GearType gearType = item.getGearType();
+            Collection<ItemStat> statList = ItemStats.allStatsOrderedExcluding(item.getExcludedStats(stack));
+            StatModifierMap stats = new StatModifierMap();
+
+            if (!EventHelper.hasListeners(GetPartStatsEvent.class)) {
+                for (ItemStat stat : statList) {
+                    StatGearKey itemKey = StatGearKey.of(stat, gearType);
+
+                    for (PartData part : parts) {
+                        addStatModifiers(stats, itemKey, part.getStatModifiers(itemKey, stack));
+                    }
+                }
+                return stats;
+            }
 
+            // Collect modifiers for each part, so the event can be posted once per part
+            List<Map<ItemStat, List<StatInstance>>> modsByPart = new ArrayList<>();
             for (PartData part : parts) {
-                for (StatInstance mod : part.getStatModifiers(itemKey, stack)) {
-                    StatInstance modCopy = StatInstance.of(mod.getValue(), mod.getOp(), itemKey);
-                    stats.put(modCopy.getKey(), modCopy);
+                Map<ItemStat, List<StatInstance>> partMods = new LinkedHashMap<>();
+                for (ItemStat stat : statList) {
+                    partMods.put(stat, new ArrayList<>(part.getStatModifiers(StatGearKey.of(stat, gearType), stack)));
                 }
+                MinecraftForge.EVENT_BUS.post(new GetPartStatsEvent(part, stack, partMods));
+                modsByPart.add(partMods);
             }
-        }
 
-        return stats;
+            for (ItemStat stat : statList) {
+                StatGearKey itemKey = StatGearKey.of(stat, gearType);
+
+                for (Map<ItemStat, List<StatInstance>> partMods : modsByPart) {
+                    addStatModifiers(stats, itemKey, partMods.getOrDefault(stat, Collections.emptyList()));
+                }
+            }
+
+            return stats;
+        });
+    }
+
+    private static void addStatModifiers(StatModifierMap stats, StatGearKey itemKey, Collection<StatInstance> mods) {
+        for (StatInstance mod : mods) {
+            StatInstance modCopy = StatInstance.of(mod.getValue(), mod.getOp(), itemKey);
+            stats.put(modCopy.getKey(), modCopy);
+        }
     }
 
     public static float getStat(ItemStack stack, IItemStat stat) {
@@ -303,10 +399,19 @@ public final class GearData {
     }
 
     public static float getStat(ItemStack stack, IItemStat stat, boolean calculateIfMissing) {
-        CompoundTag tags = getData(stack, NBT_ROOT_PROPERTIES).getCompound(NBT_STATS);
-        String key = stat.getStatId().toString();
-        if (tags.contains(key)) {
-            return tags.getFloat(key);
+        CompoundTag properties = getData(stack, NBT_ROOT_PROPERTIES);
+        if (stat instanceof ItemStat && properties.contains(NBT_STATS, Tag.TAG_COMPOUND)) {
+            StatVector stats = STAT_CACHE.get(properties.getCompound(NBT_STATS));
+            int ordinal = ((ItemStat) stat).getOrdinal();
+            if (stats.has(ordinal)) {
+                return stats.get(ordinal);
+            }
+        } else {
+            CompoundTag tags = properties.getCompound(NBT_STATS);
+            String key = stat.getStatId().toString();
+            if (tags.contains(key)) {
+                return tags.getFloat(key);
+            }
         }
 
         if (calculateIfMissing) {
@@ -314,8 +419,8 @@ public final class GearData {
             Level level = SilentGear.PROXY.getClientLevel();
 
             if (level != null && SilentGear.PROXY.checkClientConnection() && GearHelper.isValidGear(stack) && ((ICoreItem) stack.getItem()).getRelevantStats(stack).contains(stat)) {
-                SilentGear.LOGGER.debug("Sending recalculate stats packet for item with missing {} stat: {}", stat.getStatId(), stack.getHoverName().getString());
-                Network.channel.sendToServer(new RecalculateStatsPacket(level, stack, stat));
+                SilentGear.LOGGER.debug("Requesting stat recalculation for item with missing {} stat: {}", stat.getStatId(), stack.getHoverName().getString());
+                RecalculateStatsPacket.request(level, stack, stat);
                 // Prevent the packet from being spammed...
                 putStatInNbtIfMissing(stack, stat);
             }
@@ -333,7 +438,344 @@ public final class GearData {
         String key = stat.getStatId().toString();
         if (!tags.contains(key)) {
             tags.putFloat(key, stat.getDefaultValue());
+            STAT_CACHE.invalidate(tags);
+        }
+    }
+
+    /**
+     * Gets the tag sent over the network for a gear item. The stats compound, which makes up most
+     * of the tag, is replaced with a byte array of {@link PackedStatTable} indices and values. Stats
+     * which are not in the table (or are not floats) are left in the stats compound. The traits list
+     * is likewise replaced with {@link PackedIdTable#TRAITS} indices and levels, unless an entry
+     * cannot be packed. The construction's part list is replaced with a byte array of
+     * {@link PackedIdTable#PARTS} and {@link PackedIdTable#MATERIALS} indices, with only the NBT of
+     * the parts' and materials' item stacks kept as it is. The stack is not modified.
+     *
+     * @param stack The gear item
+     * @return The tag to send
+     * @see #readShareTag(ItemStack, CompoundTag)
+     */
+    @Nullable
+    public static CompoundTag getShareTag(ItemStack stack) {
+        CompoundTag tag = stack.getTag();
+        if (tag == null || !tag.contains(NBT_ROOT, Tag.TAG_COMPOUND)) return tag;
+        CompoundTag root = tag.getCompound(NBT_ROOT);
+
+        // Copy only the compounds on the path to the packed data, other tags are shared
+        CompoundTag rootCopy = null;
+        if (root.contains(NBT_ROOT_PROPERTIES, Tag.TAG_COMPOUND)) {
+            CompoundTag properties = root.getCompound(NBT_ROOT_PROPERTIES);
+            CompoundTag propertiesCopy = shallowCopy(properties);
+            boolean packedStats = packStats(properties, propertiesCopy);
+            boolean packedTraits = packTraits(properties, propertiesCopy);
+            if (packedStats || packedTraits) {
+                rootCopy = shallowCopy(root);
+                rootCopy.put(NBT_ROOT_PROPERTIES, propertiesCopy);
+            }
+        }
+        if (root.contains(NBT_ROOT_CONSTRUCTION, Tag.TAG_COMPOUND)) {
+            CompoundTag construction = root.getCompound(NBT_ROOT_CONSTRUCTION);
+            byte[] packedParts = packParts(construction);
+            if (packedParts != null) {
+                CompoundTag constructionCopy = shallowCopy(construction);
+                constructionCopy.remove(NBT_CONSTRUCTION_PARTS);
+                constructionCopy.putByteArray(NBT_PACKED_PARTS, packedParts);
+                if (rootCopy == null) {
+                    rootCopy = shallowCopy(root);
+                }
+                rootCopy.put(NBT_ROOT_CONSTRUCTION, constructionCopy);
+            }
+        }
+        if (rootCopy == null) return tag;
+
+        CompoundTag tagCopy = shallowCopy(tag);
+        tagCopy.put(NBT_ROOT, rootCopy);
+        return tagCopy;
+    }
+
+    private static boolean packStats(CompoundTag properties, CompoundTag propertiesCopy) {
+        // Already packed if the stats could not be unpacked when received
+        if (!properties.contains(NBT_STATS, Tag.TAG_COMPOUND) || properties.contains(NBT_PACKED_STATS)) return false;
+
+        CompoundTag stats = properties.getCompound(NBT_STATS);
+        PackedStatTable table = PackedStatTable.get();
+        CompoundTag unpacked = new CompoundTag();
+        FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer(4 + 5 * stats.size()));
+        byte[] packed;
+        try {
+            buffer.writeInt(table.getHash());
+            for (String key : stats.getAllKeys()) {
+                Tag value = stats.get(key);
+                int index = table.indexOf(key);
+                if (index >= 0 && value instanceof FloatTag floatTag) {
+                    buffer.writeVarInt(index);
+                    buffer.writeFloat(floatTag.getAsFloat());
+                } else if (value != null) {
+                    unpacked.put(key, value);
+                }
+            }
+            packed = new byte[buffer.readableBytes()];
+            buffer.readBytes(packed);
+        } finally {
+            buffer.release();
+        }
+
+        propertiesCopy.remove(NBT_STATS);
+        if (!unpacked.isEmpty()) {
+            propertiesCopy.put(NBT_STATS, unpacked);
+        }
+        propertiesCopy.putByteArray(NBT_PACKED_STATS, packed);
+        return true;
+    }
+
+    private static boolean packTraits(CompoundTag properties, CompoundTag propertiesCopy) {
+        // Already packed if the traits could not be unpacked when received
+        if (!properties.contains(NBT_TRAITS, Tag.TAG_LIST) || properties.contains(NBT_PACKED_TRAITS)) return false;
+
+        ListTag traits = properties.getList(NBT_TRAITS, Tag.TAG_COMPOUND);
+        if (traits.isEmpty()) return false;
+
+        PackedIdTable table = PackedIdTable.TRAITS.get();
+        FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer(4 + 3 * traits.size()));
+        byte[] packed;
+        try {
+            buffer.writeInt(table.getHash());
+            for (int i = 0; i < traits.size(); ++i) {
+                CompoundTag entry = traits.getCompound(i);
+                int index = table.indexOf(entry.getString(NBT_TRAIT_NAME));
+                // Unknown traits, or entries with other data, are sent as they are so nothing is lost
+                if (index < 0 || entry.size() != 2 || !entry.contains(NBT_TRAIT_LEVEL, Tag.TAG_BYTE)) {
+                    return false;
+                }
+                buffer.writeVarInt(index);
+                buffer.writeByte(entry.getByte(NBT_TRAIT_LEVEL));
+            }
+            packed = new byte[buffer.readableBytes()];
+            buffer.readBytes(packed);
+        } finally {
+            buffer.release();
+        }
+
+        propertiesCopy.remove(NBT_TRAITS);
+        propertiesCopy.putByteArray(NBT_PACKED_TRAITS, packed);
+        return true;
+    }
+
+    @Nullable
+    private static byte[] packParts(CompoundTag construction) {
+        // Already packed if the parts could not be unpacked when received
+        if (!construction.contains(NBT_CONSTRUCTION_PARTS, Tag.TAG_LIST) || construction.contains(NBT_PACKED_PARTS)) return null;
+
+        ListTag parts = construction.getList(NBT_CONSTRUCTION_PARTS, Tag.TAG_COMPOUND);
+        if (parts.isEmpty()) return null;
+
+        PackedIdTable partTable = PackedIdTable.PARTS.get();
+        PackedIdTable materialTable = PackedIdTable.MATERIALS.get();
+        FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+        try {
+            buffer.writeInt(partTable.getHash());
+            buffer.writeInt(materialTable.getHash());
+            for (int i = 0; i < parts.size(); ++i) {
+                CompoundTag entry = parts.getCompound(i);
+                int index = partTable.indexOf(entry.getString(PartData.NBT_ID));
+                // Like traits, anything unknown or unexpected sends the whole list as it is
+                if (index < 0 || entry.size() != 2 || !entry.contains(NBT_PART_ITEM, Tag.TAG_COMPOUND)) {
+                    return null;
+                }
+                buffer.writeVarInt(index);
+
+                CompoundTag item = entry.getCompound(NBT_PART_ITEM);
+                CompoundTag itemTag = item.getCompound(NBT_ITEM_TAG);
+                if (!itemTag.contains(NBT_MATERIALS, Tag.TAG_LIST)) {
+                    buffer.writeNbt(item);
+                    buffer.writeBoolean(false);
+                    continue;
+                }
+
+                // The part's item without its material list, which is packed after it
+                CompoundTag itemTagCopy = shallowCopy(itemTag);
+                itemTagCopy.remove(NBT_MATERIALS);
+                CompoundTag itemCopy = shallowCopy(item);
+                itemCopy.put(NBT_ITEM_TAG, itemTagCopy);
+                buffer.writeNbt(itemCopy);
+                buffer.writeBoolean(true);
+
+                ListTag materials = (ListTag) itemTag.get(NBT_MATERIALS);
+                if (!materials.isEmpty() && materials.getElementType() != Tag.TAG_COMPOUND) {
+                    return null;
+                }
+                buffer.writeVarInt(materials.size());
+                for (int j = 0; j < materials.size(); ++j) {
+                    CompoundTag material = materials.getCompound(j);
+                    int materialIndex = materialTable.indexOf(material.getString(NBT_MATERIAL_ID));
+                    boolean hasCount = material.contains(NBT_MATERIAL_COUNT);
+                    if (materialIndex < 0
+                            || material.size() != (hasCount ? 3 : 2)
+                            || !material.contains(NBT_MATERIAL_ITEM, Tag.TAG_COMPOUND)
+                            || (hasCount && (!material.contains(NBT_MATERIAL_COUNT, Tag.TAG_BYTE) || material.getByte(NBT_MATERIAL_COUNT) == 0))) {
+                        return null;
+                    }
+                    buffer.writeVarInt(materialIndex);
+                    // Zero for no count, which means one
+                    buffer.writeByte(hasCount ? material.getByte(NBT_MATERIAL_COUNT) : 0);
+                    buffer.writeNbt(material.getCompound(NBT_MATERIAL_ITEM));
+                }
+            }
+            byte[] packed = new byte[buffer.readableBytes()];
+            buffer.readBytes(packed);
+            return packed;
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Reads a tag created by {@link #getShareTag(ItemStack)}, restoring the stats compound, traits
+     * list, and part list.
+     *
+     * @param stack The gear item
+     * @param tag   The tag which was received
+     */
+    public static void readShareTag(ItemStack stack, @Nullable CompoundTag tag) {
+        if (tag != null && tag.contains(NBT_ROOT, Tag.TAG_COMPOUND)) {
+            CompoundTag properties = tag.getCompound(NBT_ROOT).getCompound(NBT_ROOT_PROPERTIES);
+            if (properties.contains(NBT_PACKED_STATS, Tag.TAG_BYTE_ARRAY)) {
+                unpackStats(properties);
+            }
+            if (properties.contains(NBT_PACKED_TRAITS, Tag.TAG_BYTE_ARRAY)) {
+                unpackTraits(properties);
+            }
+            CompoundTag construction = tag.getCompound(NBT_ROOT).getCompound(NBT_ROOT_CONSTRUCTION);
+            if (construction.contains(NBT_PACKED_PARTS, Tag.TAG_BYTE_ARRAY)) {
+                unpackParts(construction);
+            }
+        }
+        stack.setTag(tag);
+    }
+
+    private static void unpackStats(CompoundTag properties) {
+        FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.wrappedBuffer(properties.getByteArray(NBT_PACKED_STATS)));
+        PackedStatTable table = PackedStatTable.get();
+
+        int hash = buffer.readInt();
+        if (hash != table.getHash()) {
+            // Packed with another table, which should not happen once the server's table has been
+            // received. Keep the packed stats rather than guessing at what the indices mean.
+            if (!statTableMismatchLogged) {
+                SilentGear.LOGGER.warn("Received gear stats packed with a different stat table, they cannot be read");
+                statTableMismatchLogged = true;
+            }
+            return;
+        }
+
+        CompoundTag stats = properties.getCompound(NBT_STATS);
+        while (buffer.isReadable()) {
+            String id = table.byIndex(buffer.readVarInt());
+            float value = buffer.readFloat();
+            if (id != null) {
+                // Kept even if the stat is unknown here, like any other stat in the compound
+                stats.putFloat(id, value);
+            }
+        }
+        properties.put(NBT_STATS, stats);
+        properties.remove(NBT_PACKED_STATS);
+    }
+
+    private static void unpackTraits(CompoundTag properties) {
+        FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.wrappedBuffer(properties.getByteArray(NBT_PACKED_TRAITS)));
+        PackedIdTable table = PackedIdTable.TRAITS.get();
+
+        int hash = buffer.readInt();
+        if (hash != table.getHash()) {
+            // Same as stats, keep the packed traits rather than guessing at what the indices mean
+            if (!traitTableMismatchLogged) {
+                SilentGear.LOGGER.warn("Received gear traits packed with a different trait table, they cannot be read");
+                traitTableMismatchLogged = true;
+            }
+            return;
         }
+
+        ListTag traits = new ListTag();
+        while (buffer.isReadable()) {
+            String id = table.byIndex(buffer.readVarInt());
+            byte level = buffer.readByte();
+            if (id != null) {
+                CompoundTag entry = new CompoundTag();
+                entry.putString(NBT_TRAIT_NAME, id);
+                entry.putByte(NBT_TRAIT_LEVEL, level);
+                traits.add(entry);
+            }
+        }
+        properties.put(NBT_TRAITS, traits);
+        properties.remove(NBT_PACKED_TRAITS);
+    }
+
+    private static void unpackParts(CompoundTag construction) {
+        FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.wrappedBuffer(construction.getByteArray(NBT_PACKED_PARTS)));
+        PackedIdTable partTable = PackedIdTable.PARTS.get();
+        PackedIdTable materialTable = PackedIdTable.MATERIALS.get();
+
+        int partHash = buffer.readInt();
+        int materialHash = buffer.readInt();
+        if (partHash != partTable.getHash() || materialHash != materialTable.getHash()) {
+            // Same as stats, keep the packed parts rather than guessing at what the indices mean
+            if (!partTableMismatchLogged) {
+                SilentGear.LOGGER.warn("Received gear parts packed with a different part or material table, they cannot be read");
+                partTableMismatchLogged = true;
+            }
+            return;
+        }
+
+        ListTag parts = new ListTag();
+        while (buffer.isReadable()) {
+            String id = partTable.byIndex(buffer.readVarInt());
+            CompoundTag item = buffer.readNbt();
+            if (item == null) {
+                item = new CompoundTag();
+            }
+
+            if (buffer.readBoolean()) {
+                ListTag materials = new ListTag();
+                int materialCount = buffer.readVarInt();
+                for (int i = 0; i < materialCount; ++i) {
+                    String materialId = materialTable.byIndex(buffer.readVarInt());
+                    byte count = buffer.readByte();
+                    CompoundTag materialItem = buffer.readNbt();
+                    if (materialId != null && materialItem != null) {
+                        CompoundTag material = new CompoundTag();
+                        material.putString(NBT_MATERIAL_ID, materialId);
+                        material.put(NBT_MATERIAL_ITEM, materialItem);
+                        if (count != 0) {
+                            material.putByte(NBT_MATERIAL_COUNT, count);
+                        }
+                        materials.add(material);
+                    }
+                }
+                CompoundTag itemTag = item.getCompound(NBT_ITEM_TAG);
+                itemTag.put(NBT_MATERIALS, materials);
+                item.put(NBT_ITEM_TAG, itemTag);
+            }
+
+            if (id != null) {
+                CompoundTag entry = new CompoundTag();
+                entry.putString(PartData.NBT_ID, id);
+                entry.put(NBT_PART_ITEM, item);
+                parts.add(entry);
+            }
+        }
+        construction.put(NBT_CONSTRUCTION_PARTS, parts);
+        construction.remove(NBT_PACKED_PARTS);
+    }
+
+    private static CompoundTag shallowCopy(CompoundTag tag) {
+        CompoundTag copy = new CompoundTag();
+        for (String key : tag.getAllKeys()) {
+            Tag value = tag.get(key);
+            if (value != null) {
+                copy.put(key, value);
+            }
+        }
+        return copy;
     }
 
     public static boolean hasLockedStats(ItemStack stack) {
@@ -346,23 +788,29 @@ public final class GearData {
 
     public static PartDataList getConstructionParts(ItemStack stack) {
         if (!GearHelper.isGear(stack)) return PartDataList.empty();
+        return PartDataList.of(getConstruction(stack).getParts());
+    }
 
+    /**
+     * Gets the decoded construction parts of the gear item. The result is cached for the stack's
+     * parts list and shared between callers, so it must not be modified.
+     *
+     * @param stack The gear item
+     * @return The decoded construction, or an empty construction if there are no parts
+     */
+    public static GearConstruction getConstruction(ItemStack stack) {
         CompoundTag tags = getData(stack, NBT_ROOT_CONSTRUCTION);
-        ListTag tagList = tags.getList(NBT_CONSTRUCTION_PARTS, Tag.TAG_COMPOUND);
-        PartDataList list = PartDataList.of();
-
-        for (Tag nbt : tagList) {
-            if (nbt instanceof CompoundTag) {
-                CompoundTag partCompound = (CompoundTag) nbt;
-                PartData part = PartData.read(partCompound);
-
-                if (part != null) {
-                    list.add(part);
-                }
-            }
+        if (!tags.contains(NBT_CONSTRUCTION_PARTS, Tag.TAG_LIST)) {
+            return GearConstruction.EMPTY;
         }
+        return CONSTRUCTION_CACHE.get(tags.getList(NBT_CONSTRUCTION_PARTS, Tag.TAG_COMPOUND));
+    }
 
-        return list;
+    private static void invalidateConstruction(ItemStack stack) {
+        CompoundTag tags = getData(stack, NBT_ROOT_CONSTRUCTION);
+        if (tags.contains(NBT_CONSTRUCTION_PARTS, Tag.TAG_LIST)) {
+            CONSTRUCTION_CACHE.invalidate(tags.getList(NBT_CONSTRUCTION_PARTS, Tag.TAG_COMPOUND));
+        }
     }
 
     @Deprecated
@@ -434,34 +882,22 @@ public final class GearData {
      */
     @Nullable
     public static PartData getPrimaryPart(ItemStack stack) {
-        return getPartOfType(stack, PartType.MAIN);
+        return getConstruction(stack).getPrimaryPart();
     }
 
     @Nullable
     public static MaterialInstance getPrimaryMainMaterial(ItemStack stack) {
-        PartData part = getPrimaryPart(stack);
-        if (part != null && part.get() instanceof CompoundPart) {
-            return CompoundPartItem.getPrimaryMaterial(part.getItem());
-        }
-        return null;
+        return getConstruction(stack).getPrimaryMainMaterial();
     }
 
     @Nullable
     public static MaterialInstance getPrimaryArmorMaterial(ItemStack stack) {
-        PartData coating = getPartOfType(stack, PartType.COATING);
-        if (coating != null && coating.get() instanceof CompoundPart) {
-            return CompoundPartItem.getPrimaryMaterial(coating.getItem());
-        }
-        return getPrimaryMainMaterial(stack);
+        return getConstruction(stack).getPrimaryArmorMaterial();
     }
 
     @Nullable
     public static PartData getCoatingOrMainPart(ItemStack stack) {
-        PartData coating = getPartOfType(stack, PartType.COATING);
-        if (coating != null) {
-            return coating;
-        }
-        return getPartOfType(stack, PartType.MAIN);
+        return getConstruction(stack).getCoatingOrMainPart();
     }
 
     /**
@@ -473,19 +909,7 @@ public final class GearData {
      */
     @Nullable
     public static PartData getPartOfType(ItemStack stack, PartType type) {
-        CompoundTag tags = getData(stack, NBT_ROOT_CONSTRUCTION);
-        ListTag tagList = tags.getList(NBT_CONSTRUCTION_PARTS, Tag.TAG_COMPOUND);
-
-        for (int i = 0; i < tagList.size(); ++i) {
-            CompoundTag nbt = tagList.getCompound(i);
-            PartData part = PartData.read(nbt);
-
-            if (part != null && part.getType() == type) {
-                return part;
-            }
-        }
-
-        return null;
+        return getConstruction(stack).getPartOfType(type);
     }
 
     /**
@@ -496,20 +920,7 @@ public final class GearData {
      * @return True if and only if the construction parts include a part of the given type
      */
     public static boolean hasPartOfType(ItemStack stack, PartType type) {
-        CompoundTag tags = getData(stack, NBT_ROOT_CONSTRUCTION);
-        ListTag tagList = tags.getList(NBT_CONSTRUCTION_PARTS, Tag.TAG_COMPOUND);
-
-        for (int i = 0; i < tagList.size(); ++i) {
-            CompoundTag nbt = tagList.getCompound(i);
-            String key = nbt.getString("ID");
-            IGearPart part = PartManager.get(key);
-
-            if (part != null && part.getType() == type) {
-                return true;
-            }
-        }
-
-        return false;
+        return getConstruction(stack).getPartOfType(type) != null;
     }
 
     /**
@@ -677,6 +1088,7 @@ public final class GearData {
     public static void writeConstructionParts(ItemStack gear, Collection<? extends IPartData> parts) {
         if (checkNonGearItem(gear, "writeConstructionParts")) return;
 
+        invalidateConstruction(gear);
         CompoundTag tags = getData(gear, NBT_ROOT_CONSTRUCTION);
         ListTag tagList = new ListTag();
 
@@ -712,6 +1124,21 @@ public final class GearData {
         return tags.getUUID(NBT_UUID);
     }
 
+    /**
+     * Gets the item's UUID, without creating one.
+     *
+     * @param gear ItemStack of an ICoreItem
+     * @return The UUID, or null if the item does not have one
+     */
+    @Nullable
+    public static UUID getUUIDIfPresent(ItemStack gear) {
+        CompoundTag tags = gear.getTag();
+        if (tags != null && tags.hasUUID(NBT_UUID)) {
+            return tags.getUUID(NBT_UUID);
+        }
+        return null;
+    }
+
     private static CompoundTag getData(ItemStack gear, String compoundKey) {
         if (checkNonGearItem(gear, "getData")) return new CompoundTag();
 
@@ -771,6 +1198,94 @@ public final class GearData {
         return true;
     }
 
+    /**
+     * The "Stats" compound of a gear item, decoded into an array indexed by stat ordinal. NBT
+     * remains the saved and synced form of the stats.
+     */
+    private static final class StatVector {
+        private final float[] values;
+        private final BitSet present;
+
+        private StatVector(float[] values, BitSet present) {
+            this.values = values;
+            this.present = present;
+        }
+
+        private static StatVector read(CompoundTag tags) {
+            int count = ItemStats.getStatCount();
+            float[] values = new float[count];
+            BitSet present = new BitSet(count);
+
+            for (ItemStat stat : ItemStats.allStatsOrdered()) {
+                String key = stat.getStatId().toString();
+                if (tags.contains(key)) {
+                    values[stat.getOrdinal()] = tags.getFloat(key);
+                    present.set(stat.getOrdinal());
+                }
+            }
+
+            return new StatVector(values, present);
+        }
+
+        private boolean has(int ordinal) {
+            return present.get(ordinal);
+        }
+
+        private float get(int ordinal) {
+            return values[ordinal];
+        }
+    }
+
+    private static final class CalculationKey {
+        private final Item item;
+        private final ListTag parts;
+        private final int hash;
+
+        private CalculationKey(Item item, ListTag parts) {
+            this.item = item;
+            this.parts = parts;
+            this.hash = 31 * item.hashCode() + parts.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CalculationKey other = (CalculationKey) o;
+            return item == other.item && parts.equals(other.parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class StatCalculation {
+        private final StatModifierMap modifiers;
+        // Stat values before traits are applied, indexed by stat ordinal
+        private final float[] initialValues;
+
+        private StatCalculation(StatModifierMap modifiers, float[] initialValues) {
+            this.modifiers = modifiers;
+            this.initialValues = initialValues;
+        }
+
+        private static StatCalculation compute(ItemStack gear, ICoreItem item, PartDataList parts) {
+            StatModifierMap stats = getStatModifiers(gear, item, parts);
+            float[] initialValues = new float[ItemStats.getStatCount()];
+
+            for (ItemStat stat : ItemStats.allStatsOrderedExcluding(item.getExcludedStats(gear))) {
+                StatGearKey key = StatGearKey.of(stat, item.getGearType());
+                Collection<StatInstance> modifiers = stats.get(key);
+                GearType statGearType = stats.getMostSpecificKey(key).getGearType();
+                initialValues[stat.getOrdinal()] = stat.compute(stat.getBaseValue(), true, item.getGearType(), statGearType, modifiers);
+            }
+
+            return new StatCalculation(stats, initialValues);
+        }
+    }
+
     @Mod.EventBusSubscriber(modid = SilentGear.MOD_ID)
     public static final class EventHandler {
         private EventHandler() { }
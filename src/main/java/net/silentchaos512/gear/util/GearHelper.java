@@ -541,14 +541,16 @@ public final class GearHelper {
 
     /**
      * Checks if the player would be able to attack an entity which may be outside the vanilla
-     * range, based on reach distance attribute value.
+     * range, based on reach distance attribute value. Nothing is traced if the player's reach
+     * does not exceed the vanilla range, since vanilla already handles that.
      *
      * @param player The attacking player
      * @return The targeted entity if a vulnerable entity is within range, null otherwise
      */
     @Nullable
     public static Entity getAttackTargetWithExtraReach(Player player) {
-        if (getType(player.getMainHandItem()).matches(GearType.MELEE_WEAPON)) {
+        if (getType(player.getMainHandItem()).matches(GearType.MELEE_WEAPON)
+                && getAttackRange(player) > ItemStats.ATTACK_REACH.getBaseValue()) {
             return tryAttackWithExtraReach(player, true);
         }
         return null;
@@ -22,7 +22,6 @@ import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.blaze3d.vertex.VertexConsumer;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
-import net.minecraft.network.protocol.game.ClientboundBlockUpdatePacket;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.tags.BlockTags;
@@ -170,7 +169,8 @@ public interface IAoeTool {
                     // TODO: Maybe add a config? Unfortunately, this code is called only on the server...
                     //world.playEvent(2001, pos, Block.getStateId(state)); // Playing for each block gets very loud
 
-                    ((ServerPlayer) player).connection.send(new ClientboundBlockUpdatePacket(world, pos));
+                    // No block update packet needed, the client does not predict extra blocks and the
+                    // chunk broadcast at the end of the tick sends every changed section to all players
                 }
             }
             return false;
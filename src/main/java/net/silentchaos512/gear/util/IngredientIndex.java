@@ -0,0 +1,141 @@
+package net.silentchaos512.gear.util;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * An immutable lookup of objects by the items their ingredients accept. Simple ingredients only
+ * depend on the item, so they are keyed by each item they list. Anything else (NBT ingredients,
+ * custom ingredients) can't be keyed that way and goes into a fallback bucket which is tested
+ * against every stack.
+ * <p>
+ * Candidates keep the order the values were given in, so {@link #getFirst(ItemStack)} returns the
+ * same value a linear scan over all ingredients would.
+ *
+ * @param <T> The type of object being looked up (materials, parts, etc.)
+ */
+public final class IngredientIndex<T> {
+    private static final IngredientIndex<?> EMPTY = new IngredientIndex<>(Collections.emptyMap(), Collections.emptyList());
+
+    private final Map<Item, List<Entry<T>>> byItem;
+    private final List<Entry<T>> fallback;
+
+    private IngredientIndex(Map<Item, List<Entry<T>>> byItem, List<Entry<T>> fallback) {
+        this.byItem = byItem;
+        this.fallback = fallback;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> IngredientIndex<T> empty() {
+        return (IngredientIndex<T>) EMPTY;
+    }
+
+    /**
+     * Builds an index. This resolves the items of every simple ingredient, so it should not be
+     * called before tags are bound.
+     *
+     * @param values     The objects to index, in lookup priority order
+     * @param ingredient Gets the ingredient of an object
+     * @param <T>        The type of object
+     * @return A new index
+     */
+    public static <T> IngredientIndex<T> build(Iterable<T> values, Function<T, Ingredient> ingredient) {
+        List<Entry<T>> all = new ArrayList<>();
+        for (T value : values) {
+            all.add(new Entry<>(value, ingredient.apply(value)));
+        }
+        return build(all);
+    }
+
+    /**
+     * Builds an index from entries which already carry their ingredients. Used when one object can
+     * have several ingredients, like part substitutes.
+     *
+     * @param entries The entries, in lookup priority order
+     * @param <T>     The type of object
+     * @return A new index
+     */
+    public static <T> IngredientIndex<T> build(List<Entry<T>> entries) {
+        Map<Item, List<Entry<T>>> map = new IdentityHashMap<>();
+        List<Entry<T>> fallback = new ArrayList<>();
+
+        for (Entry<T> entry : entries) {
+            if (entry.ingredient.isSimple()) {
+                for (ItemStack stack : entry.ingredient.getItems()) {
+                    if (!stack.isEmpty()) {
+                        List<Entry<T>> list = map.computeIfAbsent(stack.getItem(), item -> new ArrayList<>(fallback));
+                        if (list.isEmpty() || list.get(list.size() - 1) != entry) {
+                            list.add(entry);
+                        }
+                    }
+                }
+            } else {
+                // Not keyed by item, so every stack (including items seen later) needs to test it
+                fallback.add(entry);
+                map.values().forEach(list -> list.add(entry));
+            }
+        }
+
+        Map<Item, List<Entry<T>>> byItem = new IdentityHashMap<>(map.size());
+        map.forEach((item, list) -> byItem.put(item, ImmutableList.copyOf(list)));
+        return new IngredientIndex<>(byItem, ImmutableList.copyOf(fallback));
+    }
+
+    /**
+     * Gets the entries which could match stacks of the item, in priority order. The ingredients
+     * still need to be tested.
+     *
+     * @param item The item
+     * @return Candidate entries, which is empty if nothing could match the item
+     */
+    public List<Entry<T>> getCandidates(Item item) {
+        List<Entry<T>> list = this.byItem.get(item);
+        return list != null ? list : this.fallback;
+    }
+
+    /**
+     * Gets the first object whose ingredient matches the stack.
+     *
+     * @param stack The stack
+     * @return The matching object, or null if there is none
+     */
+    @Nullable
+    public T getFirst(ItemStack stack) {
+        if (stack.isEmpty()) return null;
+
+        for (Entry<T> entry : getCandidates(stack.getItem())) {
+            if (entry.ingredient.test(stack)) {
+                return entry.value;
+            }
+        }
+        return null;
+    }
+
+    public boolean isEmpty() {
+        return this.byItem.isEmpty() && this.fallback.isEmpty();
+    }
+
+    public static final class Entry<T> {
+        private final T value;
+        private final Ingredient ingredient;
+
+        public Entry(T value, Ingredient ingredient) {
+            this.value = value;
+            this.ingredient = ingredient;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public Ingredient getIngredient() {
+            return ingredient;
+        }
+    }
+}
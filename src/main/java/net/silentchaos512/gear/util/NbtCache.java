@@ -0,0 +1,81 @@
+package net.silentchaos512.gear.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.minecraft.nbt.Tag;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Caches objects decoded from NBT, keyed by the identity of the tag they were decoded from. Keys
+ * are weak, so entries go away with the item stacks that own the tags. Replacing a tag on a stack
+ * (or copying the stack) naturally results in a cache miss. Code which modifies a cached tag in
+ * place must call {@link #invalidate(Tag)}.
+ * <p>
+ * Decoded values usually reference materials, parts, or traits, so all caches are invalidated when
+ * any of those are reloaded or synced. See {@link GearData#invalidateCaches()}.
+ *
+ * @param <K> The tag type
+ * @param <V> The decoded object type
+ */
+public final class NbtCache<K extends Tag, V> {
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+    private final Cache<K, Entry<V>> cache = CacheBuilder.newBuilder().weakKeys().build();
+    private final Function<K, V> decoder;
+
+    public NbtCache(Function<K, V> decoder) {
+        this.decoder = decoder;
+    }
+
+    /**
+     * Gets the decoded value for the tag, decoding it if it is not cached or is out of date.
+     *
+     * @param tag The tag, which should be the instance stored on the item stack
+     * @return The decoded value
+     */
+    public V get(K tag) {
+        int generation = GENERATION.get();
+        Entry<V> entry = this.cache.getIfPresent(tag);
+        if (entry != null && entry.generation == generation) {
+            return entry.value;
+        }
+
+        V value = this.decoder.apply(tag);
+        this.cache.put(tag, new Entry<>(value, generation));
+        return value;
+    }
+
+    public void invalidate(K tag) {
+        this.cache.invalidate(tag);
+    }
+
+    /**
+     * Marks every cached value in every cache as out of date. Call this when materials, parts, or
+     * traits are reloaded.
+     */
+    public static void invalidateAll() {
+        GENERATION.incrementAndGet();
+    }
+
+    /**
+     * Gets a number which changes every time {@link #invalidateAll()} is called. Other caches of
+     * material, part, or trait data can store this and compare it to detect reloads.
+     *
+     * @return The current generation
+     */
+    public static int getGeneration() {
+        return GENERATION.get();
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final int generation;
+
+        private Entry(V value, int generation) {
+            this.value = value;
+            this.generation = generation;
+        }
+    }
+}
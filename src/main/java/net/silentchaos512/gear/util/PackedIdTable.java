@@ -0,0 +1,166 @@
+package net.silentchaos512.gear.util;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.silentchaos512.gear.api.material.IMaterial;
+import net.silentchaos512.gear.api.part.IGearPart;
+import net.silentchaos512.gear.api.traits.ITrait;
+import net.silentchaos512.gear.gear.material.MaterialManager;
+import net.silentchaos512.gear.gear.part.PartManager;
+import net.silentchaos512.gear.gear.trait.TraitManager;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The trait, part, or material IDs which gear share tags refer to by index (see
+ * {@link GearData#getShareTag}). Like {@link PackedStatTable}, a table is the server's IDs in
+ * sorted order, so indices do not depend on the order data was loaded or synced in. Clients
+ * receive the server's tables at login, and again with
+ * {@link net.silentchaos512.gear.network.SyncDataDeltaPacket} when entries are added or removed
+ * by a reload.
+ */
+public final class PackedIdTable {
+    public static final Holder TRAITS = new Holder(() -> {
+        List<String> ids = new ArrayList<>();
+        for (ITrait trait : new ArrayList<>(TraitManager.getValues())) {
+            ids.add(trait.getId().toString());
+        }
+        return ids;
+    });
+    public static final Holder PARTS = new Holder(() -> {
+        List<String> ids = new ArrayList<>();
+        for (IGearPart part : new ArrayList<>(PartManager.getValues())) {
+            ids.add(part.getId().toString());
+        }
+        return ids;
+    });
+    public static final Holder MATERIALS = new Holder(() -> {
+        List<String> ids = new ArrayList<>();
+        for (IMaterial material : MaterialManager.getValues()) {
+            ids.add(material.getId().toString());
+        }
+        return ids;
+    });
+
+    private final List<String> ids;
+    private final Object2IntMap<String> indices;
+    private final int hash;
+
+    private PackedIdTable(List<String> ids) {
+        this.ids = ids;
+        this.indices = new Object2IntOpenHashMap<>(ids.size());
+        this.indices.defaultReturnValue(-1);
+        for (int i = 0; i < ids.size(); ++i) {
+            this.indices.put(ids.get(i), i);
+        }
+        this.hash = ids.hashCode();
+    }
+
+    /**
+     * Creates a table from the IDs of all entries on the server, in any order.
+     *
+     * @param entryIds The IDs
+     * @return The table
+     */
+    public static PackedIdTable of(Collection<ResourceLocation> entryIds) {
+        List<String> ids = new ArrayList<>(entryIds.size());
+        for (ResourceLocation id : entryIds) {
+            ids.add(id.toString());
+        }
+        ids.sort(null);
+        return new PackedIdTable(ids);
+    }
+
+    public static PackedIdTable read(FriendlyByteBuf buffer) {
+        int count = buffer.readVarInt();
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            ids.add(buffer.readUtf());
+        }
+        return new PackedIdTable(ids);
+    }
+
+    public void write(FriendlyByteBuf buffer) {
+        buffer.writeVarInt(this.ids.size());
+        this.ids.forEach(buffer::writeUtf);
+    }
+
+    /**
+     * Gets the index of an ID.
+     *
+     * @param id The ID, as stored in gear NBT
+     * @return The index, or -1 if the ID is not in the table
+     */
+    public int indexOf(String id) {
+        return this.indices.getInt(id);
+    }
+
+    @Nullable
+    public String byIndex(int index) {
+        return index >= 0 && index < this.ids.size() ? this.ids.get(index) : null;
+    }
+
+    public int getHash() {
+        return this.hash;
+    }
+
+    /**
+     * The table for one kind of data: built from the loaded entries, or the server's table on a
+     * client connected to a server.
+     */
+    public static final class Holder {
+        private final Supplier<List<String>> loadedIds;
+        // Built from the loaded entries, rebuilt when data is reloaded
+        @Nullable private volatile PackedIdTable local;
+        private volatile int localGeneration = -1;
+        // Client only, the table of the server the client is connected to
+        @Nullable private volatile PackedIdTable server;
+
+        private Holder(Supplier<List<String>> loadedIds) {
+            this.loadedIds = loadedIds;
+        }
+
+        /**
+         * Gets the table to pack and unpack IDs with: the server's table on a client connected to
+         * a server, otherwise the table of the loaded entries.
+         *
+         * @return The table
+         */
+        public PackedIdTable get() {
+            PackedIdTable table = this.server;
+            return table != null ? table : getLocal();
+        }
+
+        private PackedIdTable getLocal() {
+            PackedIdTable table = this.local;
+            int generation = NbtCache.getGeneration();
+            if (table == null || this.localGeneration != generation) {
+                List<String> ids = this.loadedIds.get();
+                ids.sort(null);
+                table = new PackedIdTable(ids);
+                this.local = table;
+                this.localGeneration = generation;
+            }
+            return table;
+        }
+
+        /**
+         * Sets the table received from the server, or clears it when disconnecting.
+         *
+         * @param table The server's table, or null
+         */
+        public void setServerTable(@Nullable PackedIdTable table) {
+            this.server = table;
+        }
+
+        public void writeLocal(FriendlyByteBuf buffer) {
+            getLocal().write(buffer);
+        }
+    }
+}
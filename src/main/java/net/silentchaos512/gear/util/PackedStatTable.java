@@ -0,0 +1,106 @@
+package net.silentchaos512.gear.util;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.network.FriendlyByteBuf;
+import net.silentchaos512.gear.api.stats.ItemStat;
+import net.silentchaos512.gear.api.stats.ItemStats;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The stat IDs which gear share tags refer to by index (see {@link GearData#getShareTag}). The
+ * table is the server's stat IDs in sorted order, so indices do not depend on the order stats are
+ * registered in. Clients receive the server's table at login and use it in both directions, so a
+ * stat which only one side has is still read back under its full ID.
+ */
+public final class PackedStatTable {
+    // Built from the registered stats, rebuilt if more are registered
+    @Nullable private static volatile PackedStatTable local;
+    // Client only, the table of the server the client is connected to
+    @Nullable private static volatile PackedStatTable server;
+
+    private final List<String> ids;
+    private final Object2IntMap<String> indices;
+    private final int hash;
+
+    private PackedStatTable(List<String> ids) {
+        this.ids = ids;
+        this.indices = new Object2IntOpenHashMap<>(ids.size());
+        this.indices.defaultReturnValue(-1);
+        for (int i = 0; i < ids.size(); ++i) {
+            this.indices.put(ids.get(i), i);
+        }
+        this.hash = ids.hashCode();
+    }
+
+    /**
+     * Gets the table to pack and unpack stats with: the server's table on a client connected to a
+     * server, otherwise the table of the registered stats.
+     *
+     * @return The stat table
+     */
+    public static PackedStatTable get() {
+        PackedStatTable table = server;
+        return table != null ? table : getLocal();
+    }
+
+    private static PackedStatTable getLocal() {
+        PackedStatTable table = local;
+        if (table == null || table.ids.size() != ItemStats.getStatCount()) {
+            List<String> ids = new ArrayList<>();
+            for (ItemStat stat : ItemStats.allStatsOrdered()) {
+                ids.add(stat.getStatId().toString());
+            }
+            ids.sort(null);
+            table = new PackedStatTable(ids);
+            local = table;
+        }
+        return table;
+    }
+
+    /**
+     * Sets the table received from the server, or clears it when disconnecting.
+     *
+     * @param table The server's table, or null
+     */
+    public static void setServerTable(@Nullable PackedStatTable table) {
+        server = table;
+    }
+
+    public static void writeLocal(FriendlyByteBuf buffer) {
+        PackedStatTable table = getLocal();
+        buffer.writeVarInt(table.ids.size());
+        table.ids.forEach(buffer::writeUtf);
+    }
+
+    public static PackedStatTable read(FriendlyByteBuf buffer) {
+        int count = buffer.readVarInt();
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            ids.add(buffer.readUtf());
+        }
+        return new PackedStatTable(ids);
+    }
+
+    /**
+     * Gets the index of a stat ID.
+     *
+     * @param id The stat ID, as used for keys in the stats compound
+     * @return The index, or -1 if the stat is not in the table
+     */
+    public int indexOf(String id) {
+        return this.indices.getInt(id);
+    }
+
+    @Nullable
+    public String byIndex(int index) {
+        return index >= 0 && index < this.ids.size() ? this.ids.get(index) : null;
+    }
+
+    public int getHash() {
+        return this.hash;
+    }
+}
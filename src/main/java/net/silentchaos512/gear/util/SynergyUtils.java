@@ -10,10 +10,8 @@ import net.silentchaos512.gear.api.stats.ItemStats;
 import net.silentchaos512.gear.api.traits.TraitInstance;
 import net.silentchaos512.gear.gear.trait.SynergyTrait;
 
-import java.util.Collection;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public final class SynergyUtils {
@@ -25,8 +23,57 @@ public final class SynergyUtils {
     private static final double MIN_VALUE = 0.1;
     public static final double MAX_VALUE = 2.0;
 
+    // Synergy values computed during the current stat calculation pass, if one is running
+    private static final ThreadLocal<Map<Object, Float>> PASS_CACHE = new ThreadLocal<>();
+
     private SynergyUtils() {}
 
+    /**
+     * Runs a stat calculation pass. Synergy does not depend on the stat being calculated, so while
+     * the pass runs, values from {@link #getCachedSynergy(Object, Supplier)} are computed once per
+     * key and reused for every stat.
+     *
+     * @param action The calculation
+     * @param <T>    The result type
+     * @return The result of the action
+     */
+    public static <T> T withSynergyCache(Supplier<T> action) {
+        if (PASS_CACHE.get() != null) {
+            // Already inside a pass
+            return action.get();
+        }
+
+        PASS_CACHE.set(new HashMap<>());
+        try {
+            return action.get();
+        } finally {
+            PASS_CACHE.remove();
+        }
+    }
+
+    /**
+     * Gets a synergy value, reusing the value computed earlier in the current pass if there is one.
+     * Outside of a pass, the value is simply computed.
+     *
+     * @param key      Identifies the part or material and anything else the synergy depends on,
+     *                 other than the gear item and the stat
+     * @param computer Computes the synergy value, usually with {@link #getSynergy}
+     * @return The synergy value
+     */
+    public static float getCachedSynergy(Object key, Supplier<Float> computer) {
+        Map<Object, Float> cache = PASS_CACHE.get();
+        if (cache == null) {
+            return computer.get();
+        }
+
+        Float synergy = cache.get(key);
+        if (synergy == null) {
+            synergy = computer.get();
+            cache.put(key, synergy);
+        }
+        return synergy;
+    }
+
     public static float getSynergy(PartType partType, List<? extends IMaterialInstance> materials, Collection<TraitInstance> traits) {
         // TODO: Factor material categories into calculation, decrease weight of rarity and maybe tier
         //  https://github.com/SilentChaos512/Silent-Gear/issues/267
@@ -49,14 +49,31 @@ import javax.annotation.Nullable;
 import java.util.*;
 
 public final class TraitHelper {
+    private static final NbtCache<ListTag, TraitTable> TRAIT_TABLE_CACHE = new NbtCache<>(TraitTable::compile);
+
     private TraitHelper() {throw new IllegalAccessError("Utility class");}
 
+    /**
+     * Gets the compiled trait list of the gear. Compiled tables are cached for the "Traits" list
+     * tag, which is replaced every time stats are recalculated.
+     *
+     * @param gear The gear item
+     * @return The trait table, which is empty if the item has no traits
+     */
+    private static TraitTable getTraitTable(ItemStack gear) {
+        CompoundTag properties = GearData.getPropertiesData(gear);
+        if (!properties.contains("Traits", Tag.TAG_LIST)) {
+            return TraitTable.EMPTY;
+        }
+        return TRAIT_TABLE_CACHE.get(properties.getList("Traits", Tag.TAG_COMPOUND));
+    }
+
     /**
      * An easy way to activate an item's traits from anywhere. <strong>Use with care!</strong>
      * Calling this frequently (like every render tick) causes FPS to tank.
      * <p>
-     * This implementation pulls the item's traits straight from NBT to minimize object creation.
-     * The {@link TraitFunction} is applied to every trait.
+     * This implementation uses the item's compiled trait table to minimize object creation. The
+     * {@link TraitFunction} is applied to every trait.
      *
      * @param gear       The {@link net.silentchaos512.gear.api.item.ICoreItem} affected
      * @param inputValue The base value to have the traits act on.
@@ -72,20 +89,11 @@ public final class TraitHelper {
             return inputValue;
         }
 
-        ListTag tagList = GearData.getPropertiesData(gear).getList("Traits", Tag.TAG_COMPOUND);
+        TraitTable table = getTraitTable(gear);
         float value = inputValue;
 
-        for (Tag nbt : tagList) {
-            if (nbt instanceof CompoundTag) {
-                CompoundTag tagCompound = (CompoundTag) nbt;
-                String regName = tagCompound.getString("Name");
-                ITrait trait = TraitManager.get(regName);
-
-                if (trait != null) {
-                    int level = tagCompound.getByte("Level");
-                    value = action.apply(trait, level, value);
-                }
-            }
+        for (int i = 0; i < table.traits.length; ++i) {
+            value = action.apply(table.traits[i], table.levels[i], value);
         }
 
         return value;
@@ -93,8 +101,8 @@ public final class TraitHelper {
 
     /**
      * Gets the level of the trait on the gear, or zero if it does not have the trait. Similar to
-     * {@link #activateTraits(ItemStack, float, TraitFunction)}, this pulls the traits straight from
-     * NBT to minimize object creation.
+     * {@link #activateTraits(ItemStack, float, TraitFunction)}, this uses the compiled trait table
+     * to avoid reading NBT.
      *
      * @param gear  The {@link net.silentchaos512.gear.api.item.ICoreItem}
      * @param trait The trait to look for
@@ -106,8 +114,8 @@ public final class TraitHelper {
 
     /**
      * Gets the level of the trait on the gear, or zero if it does not have the trait. Similar to
-     * {@link #activateTraits(ItemStack, float, TraitFunction)}, this pulls the traits straight from
-     * NBT to minimize object creation.
+     * {@link #activateTraits(ItemStack, float, TraitFunction)}, this uses the compiled trait table
+     * to avoid reading NBT.
      *
      * @param gear  The {@link net.silentchaos512.gear.api.item.ICoreItem}
      * @param trait The trait to look for
@@ -127,17 +135,7 @@ public final class TraitHelper {
      */
     public static int getTraitLevel(ItemStack gear, ResourceLocation traitId) {
         if (GearHelper.isGear(gear)) {
-            ListTag tagList = GearData.getPropertiesData(gear).getList("Traits", Tag.TAG_COMPOUND);
-
-            for (Tag nbt : tagList) {
-                if (nbt instanceof CompoundTag) {
-                    CompoundTag tagCompound = (CompoundTag) nbt;
-                    String regName = tagCompound.getString("Name");
-                    if (regName.equals(traitId.toString())) {
-                        return tagCompound.getByte("Level");
-                    }
-                }
-            }
+            return getTraitTable(gear).levelsById.getOrDefault(traitId, 0);
         }
 
         return 0;
@@ -169,19 +167,7 @@ public final class TraitHelper {
      */
     public static boolean hasTrait(ItemStack gear, ResourceLocation traitId) {
         if (GearHelper.isGear(gear)) {
-            ListTag tagList = GearData.getPropertiesData(gear).getList("Traits", Tag.TAG_COMPOUND);
-
-            for (Tag nbt : tagList) {
-                if (nbt instanceof CompoundTag) {
-                    CompoundTag tagCompound = (CompoundTag) nbt;
-                    String regName = tagCompound.getString("Name");
-                    if (regName.equals(traitId.toString())) {
-                        return true;
-                    }
-                }
-            }
-
-            return false;
+            return getTraitTable(gear).levelsById.containsKey(traitId);
         }
 
         return false;
@@ -237,25 +223,15 @@ public final class TraitHelper {
         return false;
     }
 
+    /**
+     * Gets the traits stored on the gear item, with levels greater than zero.
+     *
+     * @param gear The gear item
+     * @return An immutable map of traits to levels
+     */
     public static Map<ITrait, Integer> getCachedTraits(ItemStack gear) {
         if (!GearHelper.isGear(gear)) return ImmutableMap.of();
-
-        Map<ITrait, Integer> result = new LinkedHashMap<>();
-        ListTag tagList = GearData.getPropertiesData(gear).getList("Traits", Tag.TAG_COMPOUND);
-
-        for (Tag nbt : tagList) {
-            if (nbt instanceof CompoundTag) {
-                CompoundTag tagCompound = (CompoundTag) nbt;
-                String name = tagCompound.getString("Name");
-                ITrait trait = TraitManager.get(name);
-                int level = tagCompound.getByte("Level");
-                if (trait != null && level > 0) {
-                    result.put(trait, level);
-                }
-            }
-        }
-
-        return result;
+        return getTraitTable(gear).cachedTraits;
     }
 
     @Deprecated
@@ -364,18 +340,69 @@ public final class TraitHelper {
     }
 
     static void tickTraits(Level world, @Nullable Player player, ItemStack gear, boolean isEquipped) {
-        ListTag tagList = GearData.getPropertiesData(gear).getList("Traits", Tag.TAG_COMPOUND);
+        TraitTable table = getTraitTable(gear);
+
+        for (int i = 0; i < table.traits.length; ++i) {
+            TraitActionContext context = new TraitActionContext(player, table.levels[i], gear);
+            table.traits[i].onUpdate(context, isEquipped);
+        }
+    }
+
+    /**
+     * The "Traits" list of a gear item, compiled so that trait checks do not need to read NBT or
+     * parse IDs.
+     */
+    private static final class TraitTable {
+        private static final TraitTable EMPTY = new TraitTable(new ITrait[0], new int[0], ImmutableMap.of(), ImmutableMap.of());
+
+        // Traits which exist, in NBT order, and their levels
+        private final ITrait[] traits;
+        private final int[] levels;
+        // Level of the first entry with each ID, even if the trait does not exist
+        private final Map<ResourceLocation, Integer> levelsById;
+        private final Map<ITrait, Integer> cachedTraits;
+
+        private TraitTable(ITrait[] traits, int[] levels, Map<ResourceLocation, Integer> levelsById, Map<ITrait, Integer> cachedTraits) {
+            this.traits = traits;
+            this.levels = levels;
+            this.levelsById = levelsById;
+            this.cachedTraits = cachedTraits;
+        }
+
+        private static TraitTable compile(ListTag tagList) {
+            if (tagList.isEmpty()) return EMPTY;
 
-        for (int i = 0; i < tagList.size(); ++i) {
-            CompoundTag tagCompound = tagList.getCompound(i);
-            String regName = tagCompound.getString("Name");
-            ITrait trait = TraitManager.get(regName);
+            List<ITrait> traits = new ArrayList<>();
+            List<Integer> levels = new ArrayList<>();
+            Map<ResourceLocation, Integer> levelsById = new HashMap<>();
+            Map<ITrait, Integer> cachedTraits = new LinkedHashMap<>();
 
-            if (trait != null) {
-                int level = tagCompound.getByte("Level");
-                TraitActionContext context = new TraitActionContext(player, level, gear);
-                trait.onUpdate(context, isEquipped);
+            for (Tag nbt : tagList) {
+                if (nbt instanceof CompoundTag) {
+                    CompoundTag tagCompound = (CompoundTag) nbt;
+                    ResourceLocation id = ResourceLocation.tryParse(tagCompound.getString("Name"));
+                    if (id == null) continue;
+
+                    int level = tagCompound.getByte("Level");
+                    levelsById.putIfAbsent(id, level);
+
+                    ITrait trait = TraitManager.get(id);
+                    if (trait != null) {
+                        traits.add(trait);
+                        levels.add(level);
+                        if (level > 0) {
+                            cachedTraits.put(trait, level);
+                        }
+                    }
+                }
             }
+
+            return new TraitTable(
+                    traits.toArray(new ITrait[0]),
+                    levels.stream().mapToInt(Integer::intValue).toArray(),
+                    levelsById,
+                    Collections.unmodifiableMap(cachedTraits)
+            );
         }
     }
 }
@@ -0,0 +1,102 @@
+package net.silentchaos512.gear.client.util;
+
+import net.silentchaos512.utils.Color;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ColorUtilsTest {
+    private static final long SEED = 0x5EED_C010L;
+
+    @Test
+    void blendMatchesRepeatedAddition() {
+        Random random = new Random(SEED);
+        for (int run = 0; run < 200_000; ++run) {
+            int count = 1 + random.nextInt(9);
+            int[] colors = new int[count];
+            int[] weights = new int[count];
+            for (int i = 0; i < count; ++i) {
+                colors[i] = random.nextInt();
+                // Mostly the squared weights gear uses, with some arbitrary and negative ones
+                weights[i] = switch (random.nextInt(3)) {
+                    case 0 -> (count - i) * (count - i);
+                    case 1 -> random.nextInt(100);
+                    default -> random.nextInt(21) - 10;
+                };
+            }
+            assertBlendMatches(colors, weights);
+        }
+    }
+
+    @Test
+    void blendMatchesRepeatedAdditionWhenSumsOverflow() {
+        Random random = new Random(SEED);
+        for (int run = 0; run < 20; ++run) {
+            int count = 2 + random.nextInt(4);
+            int[] colors = new int[count];
+            int[] weights = new int[count];
+            for (int i = 0; i < count; ++i) {
+                colors[i] = random.nextInt() | 0xF0F0F0;
+                weights[i] = 2_000_000 + random.nextInt(2_000_000);
+            }
+            assertBlendMatches(colors, weights);
+        }
+    }
+
+    @Test
+    void emptyBlendIsWhite() {
+        assertEquals(Color.VALUE_WHITE, new ColorUtils.Blend().getColor());
+        assertBlendMatches(new int[]{0x123456}, new int[]{0});
+    }
+
+    private static void assertBlendMatches(int[] colors, int[] weights) {
+        ColorUtils.Blend blend = new ColorUtils.Blend();
+        for (int i = 0; i < colors.length; ++i) {
+            blend.add(colors[i], weights[i]);
+        }
+        assertEquals(blendByRepeatedAddition(colors, weights), blend.getColor());
+    }
+
+    // The blend as it was written before weights were multiplied in
+    private static int blendByRepeatedAddition(int[] colors, int[] weights) {
+        int[] componentSums = new int[3];
+        int maxColorSum = 0;
+        int colorCount = 0;
+
+        for (int i = 0; i < colors.length; ++i) {
+            int color = colors[i];
+            int r = (color >> 16) & 0xFF;
+            int g = (color >> 8) & 0xFF;
+            int b = color & 0xFF;
+            for (int j = 0; j < weights[i]; ++j) {
+                maxColorSum += Math.max(r, Math.max(g, b));
+                componentSums[0] += r;
+                componentSums[1] += g;
+                componentSums[2] += b;
+                ++colorCount;
+            }
+        }
+
+        return blendColors(componentSums, maxColorSum, colorCount);
+    }
+
+    private static int blendColors(int[] componentSums, float maxColorSum, int colorCount) {
+        if (colorCount > 0) {
+            int r = componentSums[0] / colorCount;
+            int g = componentSums[1] / colorCount;
+            int b = componentSums[2] / colorCount;
+            float maxAverage = maxColorSum / (float) colorCount;
+            float max = (float) Math.max(r, Math.max(g, b));
+            r = (int) ((float) r * maxAverage / max);
+            g = (int) ((float) g * maxAverage / max);
+            b = (int) ((float) b * maxAverage / max);
+            int finalColor = (r << 8) + g;
+            finalColor = (finalColor << 8) + b;
+            return finalColor;
+        }
+
+        return Color.VALUE_WHITE;
+    }
+}
@@ -0,0 +1,58 @@
+package net.silentchaos512.gear.config;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.common.ForgeConfigSpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdSetTest {
+    private static final ResourceLocation IRON_PICKAXE = new ResourceLocation("minecraft", "iron_pickaxe");
+    private static final ResourceLocation GOLDEN_AXE = new ResourceLocation("minecraft", "golden_axe");
+
+    private ForgeConfigSpec spec;
+    private ForgeConfigSpec.ConfigValue<List<? extends String>> value;
+
+    @BeforeEach
+    void setUp() {
+        ForgeConfigSpec.Builder builder = new ForgeConfigSpec.Builder();
+        value = builder.defineList("ids", List.of("minecraft:iron_pickaxe"), o -> o instanceof String);
+        spec = builder.build();
+        spec.acceptConfig(CommentedConfig.inMemory());
+    }
+
+    @Test
+    void containsDefaultIds() {
+        Config.IdSet set = new Config.IdSet(value);
+        assertTrue(set.contains(IRON_PICKAXE));
+        assertFalse(set.contains(GOLDEN_AXE));
+    }
+
+    @Test
+    void settingValueInvalidatesSet() {
+        Config.IdSet set = new Config.IdSet(value);
+        assertTrue(set.contains(IRON_PICKAXE));
+
+        // Config GUIs replace the whole list
+        value.set(List.of("minecraft:golden_axe", "not a valid id"));
+        assertFalse(set.contains(IRON_PICKAXE));
+        assertTrue(set.contains(GOLDEN_AXE));
+    }
+
+    @Test
+    void reloadingConfigInvalidatesSet() {
+        Config.IdSet set = new Config.IdSet(value);
+        assertTrue(set.contains(IRON_PICKAXE));
+
+        CommentedConfig config = CommentedConfig.inMemory();
+        config.set("ids", List.of("minecraft:golden_axe"));
+        spec.acceptConfig(config);
+        assertFalse(set.contains(IRON_PICKAXE));
+        assertTrue(set.contains(GOLDEN_AXE));
+    }
+}
@@ -0,0 +1,22 @@
+package net.silentchaos512.gear.config;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+import net.minecraftforge.common.ForgeConfigSpec;
+
+import java.util.List;
+
+/**
+ * Loads the mod's real config specs from in-memory configs, for tests outside this package.
+ * Values which are not set in the given config use their defaults.
+ */
+public final class TestConfigs {
+    private TestConfigs() {}
+
+    public static void loadCommon(CommentedConfig config) {
+        Config.Common.spec.acceptConfig(config);
+    }
+
+    public static ForgeConfigSpec.ConfigValue<List<? extends String>> nerfedItems() {
+        return Config.Common.nerfedItems;
+    }
+}
@@ -0,0 +1,120 @@
+package net.silentchaos512.gear.setup;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+import net.minecraft.SharedConstants;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.Items;
+import net.silentchaos512.gear.config.Config;
+import net.silentchaos512.gear.config.TestConfigs;
+import net.silentchaos512.lib.util.NameUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the config check the break speed handler and tooltips used to run for every held item
+ * against {@link NerfedGear}'s nerf map lookup. Vanilla durability is rewritten once at setup, so
+ * {@code getMaxDamage} itself never had a per-call check. Run with {@code gradlew benchmark}.
+ */
+@Tag("benchmark")
+class NerfedGearBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+    private static final int CALLS_PER_ROUND = 1_000_000;
+
+    // Nerfed by default, depletable but not in the nerfed list, and not depletable
+    private static final boolean[] NERFED = {true, false, false};
+
+    private static Item[] items;
+
+    @BeforeAll
+    static void setUp() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        CommentedConfig config = CommentedConfig.inMemory();
+        config.set(List.of("nerfedItems", "enabled"), true);
+        TestConfigs.loadCommon(config);
+
+        items = new Item[]{Items.IRON_PICKAXE, Items.SHEARS, Items.STONE};
+        NerfedGear.rebuildNerfedItems(List.of(items));
+    }
+
+    @Test
+    void configCheckVersusNerfMap() {
+        Predicate<Item> configCheck = NerfedGearBenchmark::isNerfedItemFromConfig;
+        Predicate<Item> nerfMap = item -> NerfedGear.getNerfInfo(item) != null;
+
+        for (int i = 0; i < items.length; ++i) {
+            assertEquals(NERFED[i], configCheck.test(items[i]), items[i].toString());
+            assertEquals(NERFED[i], nerfMap.test(items[i]), items[i].toString());
+        }
+
+        for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+            run(configCheck);
+            run(nerfMap);
+        }
+        double configNanos = time(configCheck);
+        double mapNanos = time(nerfMap);
+        System.out.printf("Nerf check, config:   %.2f ns/op%n", configNanos);
+        System.out.printf("Nerf check, nerf map: %.2f ns/op%n", mapNanos);
+    }
+
+    private static double time(Predicate<Item> check) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; ++i) {
+            long start = System.nanoTime();
+            int count = run(check);
+            long elapsed = System.nanoTime() - start;
+            // Keep the result live so the loop can't be eliminated
+            assertEquals(expectedCount(), count);
+            best = Math.min(best, elapsed);
+        }
+        return (double) best / CALLS_PER_ROUND;
+    }
+
+    private static int expectedCount() {
+        int count = 0;
+        for (int i = 0; i < CALLS_PER_ROUND; ++i) {
+            if (NERFED[i % NERFED.length]) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    // What the break speed handler checked before the map, copied from the old config code, which
+    // parsed every entry of the list on each call
+    private static boolean isNerfedItemFromConfig(Item item) {
+        return item.canBeDepleted()
+                && Config.Common.nerfedItemsEnabled.get()
+                && isThingInList(NameUtils.fromItem(item), TestConfigs.nerfedItems().get());
+    }
+
+    private static boolean isThingInList(ResourceLocation name, List<? extends String> list) {
+        for (String str : list) {
+            ResourceLocation fromList = ResourceLocation.tryParse(str);
+            if (fromList != null && fromList.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int run(Predicate<Item> check) {
+        int count = 0;
+        for (int i = 0; i < CALLS_PER_ROUND; ++i) {
+            if (check.test(items[i % items.length])) {
+                ++count;
+            }
+        }
+        return count;
+    }
+}